@@ -0,0 +1,83 @@
+package com.travelmanagement.config;
+
+import com.travelmanagement.entity.CompressedTextConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One-off move of the long text columns that used to live inline in travel_packages and destinations
+// into their detail tables. Copies in primary-key chunks, skipping rows that already have details,
+// then drops the old columns so list queries stop reading them. Does nothing on a schema that never
+// had the inline columns, and is safe to re-run after an interruption.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogDetailsMigration implements CommandLineRunner {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${travel.details.migration-chunk-size:500}")
+    private int chunkSize;
+    
+    @Override
+    public void run(String... args) {
+        migrate("travel_packages", "travel_package_details", "package_id",
+                List.of("description", "includes", "excludes", "itinerary"));
+        migrate("destinations", "destination_details", "destination_id",
+                List.of("description", "popular_attractions"));
+    }
+    
+    private void migrate(String table, String detailsTable, String idColumn, List<String> columns) {
+        List<String> legacy = new ArrayList<>();
+        for (String column : columns) {
+            if (hasColumn(table, column)) {
+                legacy.add(column);
+            }
+        }
+        if (legacy.isEmpty()) {
+            return;
+        }
+        
+        String select = "SELECT t.id, t." + String.join(", t.", legacy) + " FROM " + table + " t " +
+                "WHERE t.id > ? AND NOT EXISTS (SELECT 1 FROM " + detailsTable + " d WHERE d." + idColumn + " = t.id) " +
+                "ORDER BY t.id LIMIT ?";
+        String insert = "INSERT IGNORE INTO " + detailsTable + " (" + idColumn + ", " + String.join(", ", legacy) +
+                ") VALUES (?" + ", ?".repeat(legacy.size()) + ")";
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(select, (resultSet, rowNumber) -> {
+                Object[] row = new Object[legacy.size() + 1];
+                row[0] = resultSet.getLong(1);
+                for (int i = 0; i < legacy.size(); i++) {
+                    row[i + 1] = CompressedTextConverter.encode(resultSet.getString(i + 2));
+                }
+                return row;
+            }, afterId, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(insert, rows);
+            total += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + String.join(", DROP COLUMN ", legacy));
+        log.info("Moved {} of {} into {} for {} rows", legacy, table, detailsTable, total);
+    }
+    
+    private boolean hasColumn(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?", Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
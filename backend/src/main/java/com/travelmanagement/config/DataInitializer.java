@@ -6,6 +6,8 @@ import com.travelmanagement.entity.User;
 import com.travelmanagement.repository.DestinationRepository;
 import com.travelmanagement.repository.TravelPackageRepository;
 import com.travelmanagement.repository.UserRepository;
+import com.travelmanagement.service.DestinationService;
+import com.travelmanagement.service.TravelPackageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +22,9 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final DestinationRepository destinationRepository;
     private final TravelPackageRepository travelPackageRepository;
+    // Catalog rows go through the services so their long text fields land in the detail tables
+    private final DestinationService destinationService;
+    private final TravelPackageService travelPackageService;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -73,9 +78,11 @@ public class DataInitializer implements CommandLineRunner {
         paris.setBestTimeToVisit("April to June, September to November");
         paris.setClimate("Temperate");
         paris.setPopularAttractions("Eiffel Tower, Louvre Museum, Notre-Dame Cathedral, Champs-Élysées, Arc de Triomphe");
+        paris.setLatitude(48.8566);
+        paris.setLongitude(2.3522);
         paris.setIsFeatured(true);
         paris.setIsActive(true);
-        destinationRepository.save(paris);
+        destinationService.createDestination(paris);
 
         // Tokyo, Japan
         Destination tokyo = new Destination();
@@ -88,9 +95,11 @@ public class DataInitializer implements CommandLineRunner {
         tokyo.setBestTimeToVisit("March to May, September to November");
         tokyo.setClimate("Humid subtropical");
         tokyo.setPopularAttractions("Tokyo Skytree, Senso-ji Temple, Shibuya Crossing, Tsukiji Fish Market, Meiji Shrine");
+        tokyo.setLatitude(35.6762);
+        tokyo.setLongitude(139.6503);
         tokyo.setIsFeatured(true);
         tokyo.setIsActive(true);
-        destinationRepository.save(tokyo);
+        destinationService.createDestination(tokyo);
 
         // Bali, Indonesia
         Destination bali = new Destination();
@@ -103,9 +112,11 @@ public class DataInitializer implements CommandLineRunner {
         bali.setBestTimeToVisit("April to October");
         bali.setClimate("Tropical");
         bali.setPopularAttractions("Ubud Rice Terraces, Tanah Lot Temple, Mount Batur, Seminyak Beach, Uluwatu Temple");
+        bali.setLatitude(-8.65);
+        bali.setLongitude(115.2167);
         bali.setIsFeatured(true);
         bali.setIsActive(true);
-        destinationRepository.save(bali);
+        destinationService.createDestination(bali);
 
         // New York, USA
         Destination newYork = new Destination();
@@ -118,9 +129,11 @@ public class DataInitializer implements CommandLineRunner {
         newYork.setBestTimeToVisit("April to June, September to November");
         newYork.setClimate("Humid subtropical");
         newYork.setPopularAttractions("Statue of Liberty, Central Park, Times Square, Empire State Building, Broadway");
+        newYork.setLatitude(40.7128);
+        newYork.setLongitude(-74.006);
         newYork.setIsFeatured(true);
         newYork.setIsActive(true);
-        destinationRepository.save(newYork);
+        destinationService.createDestination(newYork);
 
         // London, UK
         Destination london = new Destination();
@@ -133,9 +146,11 @@ public class DataInitializer implements CommandLineRunner {
         london.setBestTimeToVisit("May to September");
         london.setClimate("Temperate oceanic");
         london.setPopularAttractions("Big Ben, Tower of London, Buckingham Palace, British Museum, London Eye");
+        london.setLatitude(51.5074);
+        london.setLongitude(-0.1278);
         london.setIsFeatured(false);
         london.setIsActive(true);
-        destinationRepository.save(london);
+        destinationService.createDestination(london);
     }
 
     private void initializeTravelPackages() {
@@ -162,7 +177,7 @@ public class DataInitializer implements CommandLineRunner {
             parisPackage1.setItinerary("Day 1: Arrival and city orientation, Day 2: Louvre Museum and Notre-Dame, Day 3: Eiffel Tower and Seine cruise, Day 4: Montmartre and Sacré-Cœur, Day 5: Departure");
             parisPackage1.setIsFeatured(true);
             parisPackage1.setIsActive(true);
-            travelPackageRepository.save(parisPackage1);
+            travelPackageService.createPackage(parisPackage1);
 
             // Paris Package 2
             TravelPackage parisPackage2 = new TravelPackage();
@@ -180,7 +195,7 @@ public class DataInitializer implements CommandLineRunner {
             parisPackage2.setItinerary("Day 1: Arrival and walking tour, Day 2: Free exploration, Day 3: Departure");
             parisPackage2.setIsFeatured(false);
             parisPackage2.setIsActive(true);
-            travelPackageRepository.save(parisPackage2);
+            travelPackageService.createPackage(parisPackage2);
         }
 
         if (tokyo != null) {
@@ -200,7 +215,7 @@ public class DataInitializer implements CommandLineRunner {
             tokyoPackage.setItinerary("Day 1-2: Arrival and city orientation, Day 3-4: Cultural sites and temples, Day 5-6: Modern Tokyo exploration, Day 7: Departure");
             tokyoPackage.setIsFeatured(true);
             tokyoPackage.setIsActive(true);
-            travelPackageRepository.save(tokyoPackage);
+            travelPackageService.createPackage(tokyoPackage);
         }
 
         if (bali != null) {
@@ -220,7 +235,7 @@ public class DataInitializer implements CommandLineRunner {
             baliPackage.setItinerary("Day 1: Arrival and beach time, Day 2: Ubud rice terraces, Day 3: Temple visits, Day 4-5: Beach relaxation, Day 6: Departure");
             baliPackage.setIsFeatured(true);
             baliPackage.setIsActive(true);
-            travelPackageRepository.save(baliPackage);
+            travelPackageService.createPackage(baliPackage);
         }
 
         if (newYork != null) {
@@ -240,7 +255,7 @@ public class DataInitializer implements CommandLineRunner {
             nyPackage.setItinerary("Day 1: Arrival and Times Square, Day 2: Statue of Liberty and Central Park, Day 3: Museums and shopping, Day 4: Departure");
             nyPackage.setIsFeatured(false);
             nyPackage.setIsActive(true);
-            travelPackageRepository.save(nyPackage);
+            travelPackageService.createPackage(nyPackage);
         }
     }
 }
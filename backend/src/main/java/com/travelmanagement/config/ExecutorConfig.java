@@ -0,0 +1,63 @@
+package com.travelmanagement.config;
+
+import com.travelmanagement.service.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Bounded pools for work fanned out from request threads. Each pool has a fixed number of threads
+// and a bounded queue and rejects work beyond that, so a burst of slow queries can not grow threads
+// or pin every database connection; callers treat a rejection like a failed branch.
+@Configuration
+public class ExecutorConfig {
+    
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor homePageExecutor(@Value("${travel.home.threads:8}") int threads,
+                                                   @Value("${travel.home.queue-capacity:200}") int queueCapacity) {
+        return bounded("home-", threads, queueCapacity);
+    }
+    
+    // Booking reports: date ranges, status listings
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor reportExecutor(@Value("${travel.bulkhead.report.threads:4}") int threads,
+                                                 @Value("${travel.bulkhead.report.queue-capacity:50}") int queueCapacity) {
+        return bounded("report-", threads, queueCapacity);
+    }
+    
+    // Catalog searches and date filters
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor searchExecutor(@Value("${travel.bulkhead.search.threads:8}") int threads,
+                                                 @Value("${travel.bulkhead.search.queue-capacity:100}") int queueCapacity) {
+        return bounded("search-", threads, queueCapacity);
+    }
+    
+    @Bean
+    public Bulkhead reportBulkhead(ThreadPoolTaskExecutor reportExecutor, PlatformTransactionManager transactionManager,
+                                   @Value("${travel.bulkhead.report.timeout-ms:15000}") long timeoutMs,
+                                   MeterRegistry meterRegistry) {
+        return new Bulkhead("report", reportExecutor, transactionManager, timeoutMs, meterRegistry);
+    }
+    
+    @Bean
+    public Bulkhead searchBulkhead(ThreadPoolTaskExecutor searchExecutor, PlatformTransactionManager transactionManager,
+                                   @Value("${travel.bulkhead.search.timeout-ms:5000}") long timeoutMs,
+                                   MeterRegistry meterRegistry) {
+        return new Bulkhead("search", searchExecutor, transactionManager, timeoutMs, meterRegistry);
+    }
+    
+    private static ThreadPoolTaskExecutor bounded(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
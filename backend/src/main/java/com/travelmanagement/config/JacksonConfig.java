@@ -0,0 +1,19 @@
+package com.travelmanagement.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Boot registers every Module bean with its ObjectMapper builder, so JSON, the CBOR and Smile
+// converters and the booking archive all pick this up. Blackbird replaces the reflective getter,
+// setter and constructor calls Jackson makes per property with LambdaMetafactory-generated ones,
+// which the JIT inlines like a direct call.
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,17 @@
+package com.travelmanagement.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+// Hikari evicts a connection on any SQLTimeoutException. A query timeout set by a request deadline
+// only cancels that statement (the driver issues KILL QUERY), so the connection is still good and is
+// kept; evicting it would also make the rollback that follows fail on a closed connection.
+public class QueryTimeoutExceptionOverride implements SQLExceptionOverride {
+    
+    // Not annotated: @Override would resolve to SQLExceptionOverride.Override here
+    public Override adjudicate(SQLException sqlException) {
+        return sqlException instanceof SQLTimeoutException ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
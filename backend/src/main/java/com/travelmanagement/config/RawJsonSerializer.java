@@ -0,0 +1,30 @@
+package com.travelmanagement.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// Writes a stored JSON document as a nested value. A JSON text generator copies the text verbatim,
+// like @JsonRawValue; every other generator (CBOR, Smile, token buffers) cannot embed raw JSON, so
+// there the text is re-parsed and its tokens are written in the target encoding.
+public class RawJsonSerializer extends JsonSerializer<String> {
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    @Override
+    public void serialize(String value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (generator instanceof JsonGeneratorImpl) {
+            generator.writeRawValue(value);
+            return;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(value)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.travelmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Logs a random fraction of the statements Hibernate prepares, so production keeps a representative
+// view of the SQL mix without formatting and writing every statement
+@Slf4j
+public class SampledSqlInspector implements StatementInspector {
+    
+    private final double sampleRate;
+    
+    public SampledSqlInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
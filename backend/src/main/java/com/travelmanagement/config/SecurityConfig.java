@@ -29,6 +29,11 @@ public class SecurityConfig {
                 .requestMatchers("/api/destinations/**").permitAll()
                 .requestMatchers("/api/packages/**").permitAll()
                 .requestMatchers("/api/bookings/**").permitAll()
+                .requestMatchers("/api/holds/**").permitAll()
+                .requestMatchers("/api/home").permitAll()
+                .requestMatchers("/api/suggest/**").permitAll()
+                .requestMatchers("/api/currency/**").permitAll()
+                .requestMatchers("/api/changes/**").permitAll()
                 .anyRequest().authenticated()
             );
 
@@ -0,0 +1,437 @@
+package com.travelmanagement.config;
+
+import com.travelmanagement.entity.CompressedTextConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Populates production-like cardinalities for load and benchmark environments. Enabled with
+// travel.synthetic.enabled=true; every row is derived from the seed and its id, so two runs
+// against an empty schema produce identical data regardless of thread scheduling.
+// Pending and confirmed bookings hold seats, so each package takes them only up to fill-ratio of its
+// capacity, leaving room for load-test bookings; the rest of its bookings are generated as completed
+// or cancelled history.
+@Component
+@ConditionalOnProperty(name = "travel.synthetic.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String[] COUNTRIES = {
+            "France", "Japan", "Indonesia", "USA", "United Kingdom", "Italy", "Spain", "Thailand", "Greece",
+            "Mexico", "Australia", "Canada", "Germany", "Portugal", "Turkey", "India", "Vietnam", "Brazil",
+            "Peru", "Morocco", "Egypt", "South Africa", "New Zealand", "Iceland", "Norway", "Croatia",
+            "Switzerland", "Austria", "Netherlands", "Ireland", "Argentina", "Chile", "Kenya", "Maldives",
+            "Sri Lanka", "Singapore", "South Korea", "Philippines", "Malaysia", "Czech Republic"
+    };
+    // Approximate centre of each entry in COUNTRIES; synthetic cities are scattered around it
+    private static final double[][] COUNTRY_CENTRES = {
+            {46.6, 2.4}, {36.2, 138.3}, {-2.5, 118.0}, {39.8, -98.6}, {54.0, -2.0}, {42.8, 12.6}, {40.2, -3.7},
+            {15.1, 101.0}, {39.1, 22.0}, {23.6, -102.6}, {-25.3, 133.8}, {56.1, -106.3}, {51.2, 10.5},
+            {39.6, -8.0}, {39.0, 35.2}, {21.1, 78.7}, {14.1, 108.3}, {-10.3, -53.2}, {-9.2, -75.0}, {31.8, -7.1},
+            {26.8, 30.8}, {-30.6, 22.9}, {-41.0, 174.0}, {64.9, -18.6}, {61.0, 9.0}, {45.1, 15.2}, {46.8, 8.2},
+            {47.5, 14.6}, {52.1, 5.3}, {53.4, -8.2}, {-38.4, -63.6}, {-35.7, -71.5}, {0.0, 37.9}, {3.2, 73.2},
+            {7.9, 80.8}, {1.35, 103.8}, {36.5, 127.9}, {12.9, 121.8}, {4.2, 102.0}, {49.8, 15.5}
+    };
+    private static final String[] CLIMATES = {
+            "Temperate", "Tropical", "Humid subtropical", "Mediterranean", "Arid", "Temperate oceanic", "Alpine"
+    };
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Wei", "Aiko", "Liam", "Olivia", "Noah", "Emma", "Arjun", "Sofia", "Lucas", "Mia",
+            "Hiro", "Chloe", "Mateo", "Amara", "Ethan", "Zara", "Omar", "Ines"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Garcia", "Chen", "Tanaka", "Müller", "Rossi", "Dubois", "Kim", "Patel", "Silva", "Brown",
+            "Nguyen", "Kowalski", "Haddad", "Johansson", "Okafor", "Novak", "Lopez", "Wilson", "Sato"
+    };
+    private static final String[] LOREM = {
+            "beach", "temple", "tour", "museum", "hotel", "breakfast", "transfer", "guide", "sunset", "market",
+            "cruise", "hike", "old", "town", "local", "cuisine", "view", "island", "castle", "garden"
+    };
+    private static final String[] PACKAGE_TYPES = {"BUDGET", "STANDARD", "STANDARD", "STANDARD", "LUXURY", "PREMIUM"};
+
+    private static final long USER_STREAM = 1L;
+    private static final long DESTINATION_STREAM = 2L;
+    private static final long PACKAGE_STREAM = 3L;
+    private static final long BOOKING_STREAM = 4L;
+    private static final long DESTINATION_DETAILS_STREAM = 5L;
+    private static final long PACKAGE_DETAILS_STREAM = 6L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${travel.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${travel.synthetic.users:1000000}")
+    private int userCount;
+
+    @Value("${travel.synthetic.destinations:2000}")
+    private int destinationCount;
+
+    @Value("${travel.synthetic.packages:10000}")
+    private int packageCount;
+
+    @Value("${travel.synthetic.bookings:10000000}")
+    private long bookingCount;
+
+    @Value("${travel.synthetic.threads:8}")
+    private int threads;
+
+    @Value("${travel.synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${travel.synthetic.zipf-exponent:1.1}")
+    private double zipfExponent;
+
+    @Value("${travel.synthetic.fill-ratio:0.8}")
+    private double fillRatio;
+
+    private LocalDateTime generatedAt;
+    private double[] packagePrices;
+    private int[] packageCapacities;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existingUsers != null && existingUsers >= userCount) {
+            log.info("Synthetic data generation skipped, {} users already present", existingUsers);
+            return;
+        }
+
+        // A fixed clock keeps dates reproducible between runs on the same day
+        generatedAt = LocalDate.now().atStartOfDay();
+        long userBase = nextId("users");
+        long destinationBase = nextId("destinations");
+        long packageBase = nextId("travel_packages");
+        long bookingBase = nextId("bookings");
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long started = System.nanoTime();
+            generateUsers(pool, userBase);
+            generateDestinations(pool, destinationBase);
+            generateDestinationDetails(pool, destinationBase);
+            generatePackages(pool, packageBase, destinationBase);
+            generatePackageDetails(pool, packageBase);
+            generateBookings(pool, bookingBase, userBase, packageBase);
+            refreshParticipantCounts(packageBase);
+            log.info("Synthetic data generated in {} s: {} users, {} destinations, {} packages, {} bookings",
+                    (System.nanoTime() - started) / 1_000_000_000L, userCount, destinationCount, packageCount, bookingCount);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void generateUsers(ExecutorService pool, long base) throws Exception {
+        // BCrypt is deliberately slow, so every synthetic user shares one hash of the same password
+        String passwordHash = passwordEncoder.encode("password123");
+        String sql = "INSERT INTO users (id, username, email, password, first_name, last_name, phone_number, role, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        insertInParallel(pool, "users", sql, userCount, (index, rows) -> {
+            SplittableRandom random = rowRandom(USER_STREAM, index);
+            long id = base + index;
+            Timestamp createdAt = Timestamp.valueOf(generatedAt.minusDays(random.nextInt(1095)));
+            rows.add(new Object[]{
+                    id,
+                    "user" + id,
+                    "user" + id + "@example.com",
+                    passwordHash,
+                    pick(FIRST_NAMES, random),
+                    pick(LAST_NAMES, random),
+                    "+1" + (2_000_000_000L + random.nextLong(7_999_999_999L)),
+                    index % 10_000 == 0 ? "ADMIN" : "USER",
+                    createdAt,
+                    createdAt
+            });
+        });
+    }
+
+    private void generateDestinations(ExecutorService pool, long base) throws Exception {
+        // A few countries hold most destinations, like a real catalog
+        ZipfSampler countries = new ZipfSampler(COUNTRIES.length, zipfExponent);
+        String sql = "INSERT INTO destinations (id, name, country, city, image_url, price, currency, " +
+                "best_time_to_visit, climate, latitude, longitude, is_featured, is_active, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        insertInParallel(pool, "destinations", sql, destinationCount, (index, rows) -> {
+            SplittableRandom random = rowRandom(DESTINATION_STREAM, index);
+            long id = base + index;
+            int countryIndex = countries.sample(random) - 1;
+            String country = COUNTRIES[countryIndex];
+            String city = "City " + id;
+            Timestamp createdAt = Timestamp.valueOf(generatedAt.minusDays(random.nextInt(1095)));
+            rows.add(new Object[]{
+                    id,
+                    city + ", " + country,
+                    country,
+                    city,
+                    "https://images.example.com/destinations/" + id + ".jpg",
+                    roundPrice(logNormal(random, 900, 0.5)),
+                    "USD",
+                    "April to June",
+                    pick(CLIMATES, random),
+                    Math.max(-89.9, Math.min(89.9, COUNTRY_CENTRES[countryIndex][0] + 4 * random.nextGaussian())),
+                    Math.IEEEremainder(COUNTRY_CENTRES[countryIndex][1] + 6 * random.nextGaussian(), 360),
+                    random.nextInt(100) < 5,
+                    random.nextInt(100) < 95,
+                    createdAt,
+                    createdAt
+            });
+        });
+    }
+
+    private void generateDestinationDetails(ExecutorService pool, long base) throws Exception {
+        String sql = "INSERT INTO destination_details (destination_id, description, popular_attractions) VALUES (?, ?, ?)";
+        insertInParallel(pool, "destination_details", sql, destinationCount, (index, rows) -> {
+            SplittableRandom random = rowRandom(DESTINATION_DETAILS_STREAM, index);
+            long id = base + index;
+            rows.add(new Object[]{
+                    id,
+                    CompressedTextConverter.encode("Synthetic destination " + id + ". " + filler(random, 40)),
+                    CompressedTextConverter.encode(filler(random, 12))
+            });
+        });
+    }
+
+    private void generatePackages(ExecutorService pool, long base, long destinationBase) throws Exception {
+        ZipfSampler destinations = new ZipfSampler(destinationCount, zipfExponent);
+        packagePrices = new double[packageCount];
+        packageCapacities = new int[packageCount];
+        String sql = "INSERT INTO travel_packages (id, name, destination_id, start_date, end_date, price, " +
+                "currency, max_participants, current_participants, package_type, " +
+                "is_featured, is_active, created_at, updated_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        insertInParallel(pool, "travel_packages", sql, packageCount, (index, rows) -> {
+            SplittableRandom random = rowRandom(PACKAGE_STREAM, index);
+            long id = base + index;
+            LocalDate startDate = generatedAt.toLocalDate().plusDays(random.nextInt(-30, 365));
+            int days = random.nextInt(3, 15);
+            double price = roundPrice(logNormal(random, 1400, 0.6));
+            packagePrices[(int) index] = price;
+            int capacity = random.nextInt(10, 61);
+            packageCapacities[(int) index] = capacity;
+            Timestamp createdAt = Timestamp.valueOf(generatedAt.minusDays(random.nextInt(365)));
+            rows.add(new Object[]{
+                    id,
+                    "Package " + id,
+                    destinationBase + destinations.sampleIndex(random),
+                    Date.valueOf(startDate),
+                    Date.valueOf(startDate.plusDays(days)),
+                    price,
+                    "USD",
+                    capacity,
+                    0,
+                    pick(PACKAGE_TYPES, random),
+                    random.nextInt(100) < 3,
+                    random.nextInt(100) < 90,
+                    createdAt,
+                    createdAt,
+                    0L
+            });
+        });
+    }
+
+    // Stored in the same format CompressedTextConverter reads back
+    private void generatePackageDetails(ExecutorService pool, long base) throws Exception {
+        String sql = "INSERT INTO travel_package_details (package_id, description, includes, excludes, itinerary) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        insertInParallel(pool, "travel_package_details", sql, packageCount, (index, rows) -> {
+            SplittableRandom random = rowRandom(PACKAGE_DETAILS_STREAM, index);
+            long id = base + index;
+            rows.add(new Object[]{
+                    id,
+                    CompressedTextConverter.encode("Synthetic package " + id + ". " + filler(random, 40)),
+                    CompressedTextConverter.encode(filler(random, 15)),
+                    CompressedTextConverter.encode(filler(random, 10)),
+                    CompressedTextConverter.encode(filler(random, 80))
+            });
+        });
+    }
+
+    private void generateBookings(ExecutorService pool, long base, long userBase, long packageBase) throws Exception {
+        ZipfSampler packages = new ZipfSampler(packageCount, zipfExponent);
+        // Booking activity across users is much flatter than across packages
+        ZipfSampler users = new ZipfSampler(userCount, 0.8);
+        BitSet overCapacity = findOverCapacity(packages);
+        String sql = "INSERT INTO bookings (id, user_id, package_id, number_of_participants, total_price, currency, " +
+                "booking_status, payment_status, special_requests, booking_reference, booking_date, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        insertInParallel(pool, "bookings", sql, bookingCount, (index, rows) -> {
+            SplittableRandom random = rowRandom(BOOKING_STREAM, index);
+            long id = base + index;
+            int packageIndex = packages.sampleIndex(random);
+            int participants = participants(random);
+            int roll = random.nextInt(100);
+            String bookingStatus;
+            String paymentStatus;
+            if (overCapacity.get((int) index)) {
+                // Would have overbooked its package: a past trip, or a booking that was never paid
+                bookingStatus = roll < 60 ? "COMPLETED" : "CANCELLED";
+                paymentStatus = "COMPLETED".equals(bookingStatus) ? "PAID" : "FAILED";
+            } else if (roll < 60) {
+                bookingStatus = "CONFIRMED";
+                paymentStatus = "PAID";
+            } else if (roll < 75) {
+                bookingStatus = "COMPLETED";
+                paymentStatus = "PAID";
+            } else if (roll < 88) {
+                bookingStatus = "CANCELLED";
+                paymentStatus = random.nextBoolean() ? "REFUNDED" : "FAILED";
+            } else {
+                bookingStatus = "PENDING";
+                paymentStatus = "PENDING";
+            }
+            Timestamp bookedAt = Timestamp.valueOf(generatedAt.minusMinutes(random.nextLong(3L * 365 * 24 * 60)));
+            rows.add(new Object[]{
+                    id,
+                    userBase + users.sampleIndex(random),
+                    packageBase + packageIndex,
+                    participants,
+                    packagePrices[packageIndex] * participants,
+                    "USD",
+                    bookingStatus,
+                    paymentStatus,
+                    random.nextInt(100) < 10 ? "Vegetarian meals please" : null,
+                    "SYN" + id,
+                    bookedAt,
+                    bookedAt,
+                    bookedAt
+            });
+        });
+    }
+
+    // Replays the package, participant and status draws of every booking in id order and marks the
+    // seat-holding ones that would take a package past fill-ratio of its capacity. Sequential, so the
+    // parallel insert that follows stays independent of thread scheduling.
+    private BitSet findOverCapacity(ZipfSampler packages) {
+        int[] seatsLeft = new int[packageCount];
+        for (int i = 0; i < packageCount; i++) {
+            seatsLeft[i] = (int) (packageCapacities[i] * fillRatio);
+        }
+        BitSet overCapacity = new BitSet();
+        for (long index = 0; index < bookingCount; index++) {
+            SplittableRandom random = rowRandom(BOOKING_STREAM, index);
+            int packageIndex = packages.sampleIndex(random);
+            int participants = participants(random);
+            if (!holdsSeats(random.nextInt(100))) {
+                continue;
+            }
+            if (participants <= seatsLeft[packageIndex]) {
+                seatsLeft[packageIndex] -= participants;
+            } else {
+                overCapacity.set((int) index);
+            }
+        }
+        log.info("bookings: {} moved to history to keep packages within capacity", overCapacity.cardinality());
+        return overCapacity;
+    }
+
+    private static int participants(SplittableRandom random) {
+        return 1 + Math.min(7, (int) Math.abs(random.nextGaussian() * 2));
+    }
+
+    // CONFIRMED and PENDING, per the status split in generateBookings
+    private static boolean holdsSeats(int roll) {
+        return roll < 60 || roll >= 88;
+    }
+
+    // Same count as availability: pending and confirmed bookings both hold seats
+    private void refreshParticipantCounts(long packageBase) {
+        jdbcTemplate.update("UPDATE travel_packages tp SET current_participants = " +
+                "(SELECT COALESCE(SUM(b.number_of_participants), 0) FROM bookings b " +
+                "WHERE b.package_id = tp.id AND b.booking_status IN ('PENDING', 'CONFIRMED')) WHERE tp.id >= ?",
+                packageBase);
+    }
+
+    private void insertInParallel(ExecutorService pool, String table, String sql, long total, RowWriter writer)
+            throws InterruptedException, ExecutionException {
+        long rowsPerTask = (long) batchSize * 50;
+        List<Future<?>> futures = new ArrayList<>();
+        for (long from = 0; from < total; from += rowsPerTask) {
+            long start = from;
+            long end = Math.min(total, from + rowsPerTask);
+            futures.add(pool.submit(() -> {
+                List<Object[]> rows = new ArrayList<>(batchSize);
+                for (long index = start; index < end; index++) {
+                    writer.write(index, rows);
+                    if (rows.size() == batchSize) {
+                        jdbcTemplate.batchUpdate(sql, rows);
+                        rows.clear();
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, rows);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        log.info("{}: {} rows inserted", table, total);
+    }
+
+    // One independent stream per row keeps output identical no matter which thread writes the row
+    private SplittableRandom rowRandom(long stream, long index) {
+        return new SplittableRandom(mix(seed ^ mix(stream * 0x9E3779B97F4A7C15L + index)));
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max == null ? 0L : max) + 1L;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    private static double roundPrice(double price) {
+        return Math.max(49d, Math.round(price));
+    }
+
+    private static String filler(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(LOREM[random.nextInt(LOREM.length)]);
+        }
+        return text.toString();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, List<Object[]> rows);
+    }
+}
@@ -0,0 +1,36 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.dto.ErrorResponse;
+import com.travelmanagement.exception.DomainException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Turns the failures services report into responses, so controllers only handle the success path.
+// Domain exceptions carry their status and a prebuilt body; the handlers below cover the Spring
+// exceptions that mean the same kind of thing.
+@RestControllerAdvice
+public class ApiExceptionHandler {
+    
+    private static final ErrorResponse CONCURRENT_UPDATE = new ErrorResponse("The resource was changed concurrently, please retry");
+    private static final ErrorResponse CONSTRAINT_VIOLATION = new ErrorResponse("The request conflicts with existing data");
+    
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException e) {
+        return ResponseEntity.status(e.getStatus()).body(e.getBody());
+    }
+    
+    // Optimistic retries exhausted
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(CONCURRENT_UPDATE);
+    }
+    
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(CONSTRAINT_VIOLATION);
+    }
+}
@@ -1,6 +1,9 @@
 package com.travelmanagement.controller;
 
+import com.travelmanagement.dto.UserResponse;
 import com.travelmanagement.entity.User;
+import com.travelmanagement.exception.InvalidCredentialsException;
+import com.travelmanagement.mapper.ResponseMapper;
 import com.travelmanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,20 +20,15 @@ import java.util.Map;
 public class AuthController {
     
     private final UserService userService;
+    private final ResponseMapper responseMapper;
     
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody User user) {
-        try {
-            User createdUser = userService.createUser(user);
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "User registered successfully");
-            response.put("user", createdUser);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (RuntimeException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
-        }
+        User createdUser = userService.createUser(user);
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "User registered successfully");
+        response.put("user", responseMapper.toResponse(createdUser));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
     @PostMapping("/login")
@@ -40,37 +38,25 @@ public class AuthController {
         
         // For now, we'll just validate the user exists
         // In a real application, you'd implement proper authentication with JWT
-        try {
-            User user = userService.getUserByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Invalid credentials"));
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Login successful");
-            response.put("user", user);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Invalid credentials");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
-        }
+        User user = userService.getUserByUsername(username)
+                .orElseThrow(() -> InvalidCredentialsException.INSTANCE);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Login successful");
+        response.put("user", responseMapper.toResponse(user));
+        return ResponseEntity.ok(response);
     }
     
     @GetMapping("/profile/{id}")
-    public ResponseEntity<User> getUserProfile(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserProfile(@PathVariable Long id) {
         return userService.getUserById(id)
-                .map(user -> ResponseEntity.ok(user))
+                .map(user -> ResponseEntity.ok(responseMapper.toResponse(user)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @PutMapping("/profile/{id}")
-    public ResponseEntity<?> updateUserProfile(@PathVariable Long id, @RequestBody User userDetails) {
-        try {
-            User updatedUser = userService.updateUser(id, userDetails);
-            return ResponseEntity.ok(updatedUser);
-        } catch (RuntimeException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<UserResponse> updateUserProfile(@PathVariable Long id, @RequestBody User userDetails) {
+        User updatedUser = userService.updateUser(id, userDetails);
+        return ResponseEntity.ok(responseMapper.toResponse(updatedUser));
     }
 }
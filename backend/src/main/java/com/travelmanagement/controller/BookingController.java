@@ -1,7 +1,15 @@
 package com.travelmanagement.controller;
 
+import com.travelmanagement.dto.BatchResult;
+import com.travelmanagement.dto.BookingResponse;
+import com.travelmanagement.dto.PaymentStatusResult;
+import com.travelmanagement.dto.PaymentStatusUpdate;
 import com.travelmanagement.entity.Booking;
+import com.travelmanagement.mapper.ResponseMapper;
 import com.travelmanagement.service.BookingService;
+import com.travelmanagement.service.Bulkhead;
+import com.travelmanagement.service.CurrencyService;
+import com.travelmanagement.service.PaymentReconciliationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -10,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -18,118 +27,147 @@ import java.util.List;
 public class BookingController {
     
     private final BookingService bookingService;
+    private final CurrencyService currencyService;
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final ResponseMapper responseMapper;
+    private final Bulkhead reportBulkhead;
     
+    // Every list endpoint takes fields=bookingReference,bookingStatus,travelPackage.name to read and
+    // return only those fields
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings() {
+    public ResponseEntity<List<?>> getAllBookings(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(bookingService.getAllBookingFields(fields));
+        }
         List<Booking> bookings = bookingService.getAllBookings();
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok(responseMapper.toBookingResponses(bookings));
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Booking>> getBookingsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<?>> getBookingsByUser(@PathVariable Long userId, @RequestParam(required = false) String currency,
+                                                     @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "totalPrice", currency,
+                    selected -> bookingService.getBookingFieldsByUser(userId, selected)));
+        }
         List<Booking> bookings = bookingService.getBookingsByUser(userId);
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toBookingResponses(bookings), currency));
+    }
+    
+    // Same response shape as /api/packages/batch
+    @GetMapping("/batch")
+    public ResponseEntity<BatchResult<?>> getBookingsByIds(@RequestParam List<Long> ids,
+                                                           @RequestParam(required = false) String currency) {
+        BatchResult<Booking> bookings = bookingService.getBookingsInRequestOrder(ids);
+        return ResponseEntity.ok(bookings.mapFound(found ->
+                currencyService.price(responseMapper.toBookingResponses(found), currency)));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
+    public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id) {
         return bookingService.getBookingById(id)
-                .map(booking -> ResponseEntity.ok(booking))
+                .map(booking -> ResponseEntity.ok(responseMapper.toResponse(booking)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/reference/{bookingReference}")
-    public ResponseEntity<Booking> getBookingByReference(@PathVariable String bookingReference) {
+    public ResponseEntity<BookingResponse> getBookingByReference(@PathVariable String bookingReference) {
         return bookingService.getBookingByReference(bookingReference)
-                .map(booking -> ResponseEntity.ok(booking))
+                .map(booking -> ResponseEntity.ok(responseMapper.toResponse(booking)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // The report endpoints below run on the report bulkhead; a full bulkhead or a passed deadline is a 503
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable Booking.BookingStatus status) {
-        List<Booking> bookings = bookingService.getBookingsByStatus(status);
-        return ResponseEntity.ok(bookings);
+    public CompletableFuture<ResponseEntity<List<?>>> getBookingsByStatus(@PathVariable Booking.BookingStatus status,
+                                                                          @RequestParam(required = false) String fields) {
+        return reportBulkhead.submit(() -> {
+            if (fields != null) {
+                return ResponseEntity.ok(bookingService.getBookingFieldsByStatus(status, fields));
+            }
+            List<Booking> bookings = bookingService.getBookingsByStatus(status);
+            return ResponseEntity.<List<?>>ok(responseMapper.toBookingResponses(bookings));
+        });
     }
     
     @GetMapping("/payment-status/{status}")
-    public ResponseEntity<List<Booking>> getBookingsByPaymentStatus(@PathVariable Booking.PaymentStatus status) {
-        List<Booking> bookings = bookingService.getBookingsByPaymentStatus(status);
-        return ResponseEntity.ok(bookings);
+    public CompletableFuture<ResponseEntity<List<?>>> getBookingsByPaymentStatus(@PathVariable Booking.PaymentStatus status,
+                                                                                 @RequestParam(required = false) String fields) {
+        return reportBulkhead.submit(() -> {
+            if (fields != null) {
+                return ResponseEntity.ok(bookingService.getBookingFieldsByPaymentStatus(status, fields));
+            }
+            List<Booking> bookings = bookingService.getBookingsByPaymentStatus(status);
+            return ResponseEntity.<List<?>>ok(responseMapper.toBookingResponses(bookings));
+        });
     }
     
     @GetMapping("/date-range")
-    public ResponseEntity<List<Booking>> getBookingsByDateRange(
+    public CompletableFuture<ResponseEntity<List<?>>> getBookingsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<Booking> bookings = bookingService.getBookingsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(bookings);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String fields) {
+        return reportBulkhead.submit(() -> {
+            if (fields != null) {
+                return ResponseEntity.ok(bookingService.getBookingFieldsByDateRange(startDate, endDate, fields));
+            }
+            List<Booking> bookings = bookingService.getBookingsByDateRange(startDate, endDate);
+            return ResponseEntity.<List<?>>ok(responseMapper.toBookingResponses(bookings));
+        });
     }
     
     @GetMapping("/user/{userId}/confirmed")
-    public ResponseEntity<List<Booking>> getConfirmedBookingsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<?>> getConfirmedBookingsByUser(@PathVariable Long userId, @RequestParam(required = false) String currency,
+                                                              @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "totalPrice", currency,
+                    selected -> bookingService.getConfirmedBookingFieldsByUser(userId, selected)));
+        }
         List<Booking> bookings = bookingService.getConfirmedBookingsByUser(userId);
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toBookingResponses(bookings), currency));
     }
     
     @PostMapping
-    public ResponseEntity<Booking> createBooking(@RequestBody Booking booking) {
-        try {
-            Booking createdBooking = bookingService.createBooking(booking);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<BookingResponse> createBooking(@RequestBody Booking booking) {
+        Booking createdBooking = bookingService.createBooking(booking);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toResponse(createdBooking));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Booking> updateBooking(@PathVariable Long id, @RequestBody Booking booking) {
-        try {
-            Booking updatedBooking = bookingService.updateBooking(id, booking);
-            return ResponseEntity.ok(updatedBooking);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<BookingResponse> updateBooking(@PathVariable Long id, @RequestBody Booking booking) {
+        Booking updatedBooking = bookingService.updateBooking(id, booking);
+        return ResponseEntity.ok(responseMapper.toResponse(updatedBooking));
     }
     
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Booking> updateBookingStatus(@PathVariable Long id, @RequestBody Booking.BookingStatus status) {
-        try {
-            Booking updatedBooking = bookingService.updateBookingStatus(id, status);
-            return ResponseEntity.ok(updatedBooking);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<BookingResponse> updateBookingStatus(@PathVariable Long id, @RequestBody Booking.BookingStatus status) {
+        Booking updatedBooking = bookingService.updateBookingStatus(id, status);
+        return ResponseEntity.ok(responseMapper.toResponse(updatedBooking));
     }
     
     @PatchMapping("/{id}/payment-status")
-    public ResponseEntity<Booking> updatePaymentStatus(@PathVariable Long id, @RequestBody Booking.PaymentStatus status) {
-        try {
-            Booking updatedBooking = bookingService.updatePaymentStatus(id, status);
-            return ResponseEntity.ok(updatedBooking);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<BookingResponse> updatePaymentStatus(@PathVariable Long id, @RequestBody Booking.PaymentStatus status) {
+        Booking updatedBooking = bookingService.updatePaymentStatus(id, status);
+        return ResponseEntity.ok(responseMapper.toResponse(updatedBooking));
+    }
+    
+    @PatchMapping("/payment-status/bulk")
+    public ResponseEntity<List<PaymentStatusResult>> reconcilePaymentStatuses(@RequestBody List<PaymentStatusUpdate> updates) {
+        List<PaymentStatusResult> results = paymentReconciliationService.reconcile(updates);
+        return ResponseEntity.ok(results);
     }
     
     @PatchMapping("/{id}/cancel")
-    public ResponseEntity<Booking> cancelBooking(@PathVariable Long id) {
-        try {
-            bookingService.cancelBooking(id);
-            return bookingService.getBookingById(id)
-                    .map(booking -> ResponseEntity.ok(booking))
-                    .orElse(ResponseEntity.notFound().build());
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long id) {
+        bookingService.cancelBooking(id);
+        return bookingService.getBookingById(id)
+                .map(booking -> ResponseEntity.ok(responseMapper.toResponse(booking)))
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBooking(@PathVariable Long id) {
-        try {
-            bookingService.deleteBooking(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        bookingService.deleteBooking(id);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,30 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.dto.ChangeFeedPage;
+import com.travelmanagement.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class ChangeFeedController {
+    
+    private final ChangeFeedService changeFeedService;
+    
+    // 410 Gone means the cursor is older than the retention window and a full resync is needed
+    @GetMapping
+    public ResponseEntity<ChangeFeedPage> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+    
+    @GetMapping("/cursor")
+    public ResponseEntity<Map<String, Long>> getCurrentCursor() {
+        return ResponseEntity.ok(Map.of("cursor", changeFeedService.getCurrentCursor()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.service.CurrencyService;
+import com.travelmanagement.service.RateTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/currency")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class CurrencyController {
+    
+    private final CurrencyService currencyService;
+    
+    @GetMapping("/rates")
+    public ResponseEntity<RateTable> getRates() {
+        return ResponseEntity.ok(currencyService.getRates());
+    }
+}
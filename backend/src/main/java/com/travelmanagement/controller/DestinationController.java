@@ -1,7 +1,13 @@
 package com.travelmanagement.controller;
 
+import com.travelmanagement.dto.BatchResult;
+import com.travelmanagement.dto.DestinationResponse;
+import com.travelmanagement.dto.NearbyDestination;
 import com.travelmanagement.entity.Destination;
+import com.travelmanagement.mapper.ResponseMapper;
+import com.travelmanagement.service.CurrencyService;
 import com.travelmanagement.service.DestinationService;
+import com.travelmanagement.service.GeoSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,87 +22,140 @@ import java.util.List;
 public class DestinationController {
     
     private final DestinationService destinationService;
+    private final CurrencyService currencyService;
+    private final GeoSearchService geoSearchService;
+    private final ResponseMapper responseMapper;
     
+    // Every list endpoint takes fields=name,price,imageUrl to read and return only those fields
     @GetMapping
-    public ResponseEntity<List<Destination>> getAllDestinations() {
+    public ResponseEntity<List<?>> getAllDestinations(@RequestParam(required = false) String currency,
+                                                      @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    destinationService::getActiveDestinationFields));
+        }
         List<Destination> destinations = destinationService.getActiveDestinations();
-        return ResponseEntity.ok(destinations);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toDestinationResponses(destinations), currency));
     }
     
     @GetMapping("/featured")
-    public ResponseEntity<List<Destination>> getFeaturedDestinations() {
+    public ResponseEntity<List<?>> getFeaturedDestinations(@RequestParam(required = false) String currency,
+                                                           @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    destinationService::getFeaturedDestinationFields));
+        }
         List<Destination> destinations = destinationService.getFeaturedDestinations();
-        return ResponseEntity.ok(destinations);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toDestinationResponses(destinations), currency));
+    }
+    
+    // Same response shape as /api/packages/batch
+    @GetMapping("/batch")
+    public ResponseEntity<BatchResult<?>> getDestinationsByIds(@RequestParam List<Long> ids,
+                                                               @RequestParam(required = false) String currency) {
+        BatchResult<Destination> destinations = destinationService.getDestinationsInRequestOrder(ids);
+        return ResponseEntity.ok(destinations.mapFound(found ->
+                currencyService.price(responseMapper.toDestinationResponses(found), currency)));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Destination> getDestinationById(@PathVariable Long id) {
-        return destinationService.getDestinationById(id)
-                .map(destination -> ResponseEntity.ok(destination))
+    public ResponseEntity<DestinationResponse> getDestinationById(@PathVariable Long id) {
+        return destinationService.getDestinationWithDetails(id)
+                .map(destination -> ResponseEntity.ok(responseMapper.toResponse(destination)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/country/{country}")
-    public ResponseEntity<List<Destination>> getDestinationsByCountry(@PathVariable String country) {
+    public ResponseEntity<List<?>> getDestinationsByCountry(@PathVariable String country, @RequestParam(required = false) String currency,
+                                                            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> destinationService.getDestinationFieldsByCountry(country, selected)));
+        }
         List<Destination> destinations = destinationService.getDestinationsByCountry(country);
-        return ResponseEntity.ok(destinations);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toDestinationResponses(destinations), currency));
     }
     
     @GetMapping("/city/{city}")
-    public ResponseEntity<List<Destination>> getDestinationsByCity(@PathVariable String city) {
+    public ResponseEntity<List<?>> getDestinationsByCity(@PathVariable String city, @RequestParam(required = false) String currency,
+                                                         @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> destinationService.getDestinationFieldsByCity(city, selected)));
+        }
         List<Destination> destinations = destinationService.getDestinationsByCity(city);
-        return ResponseEntity.ok(destinations);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toDestinationResponses(destinations), currency));
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Destination>> searchDestinations(@RequestParam String q) {
+    public ResponseEntity<List<?>> searchDestinations(@RequestParam String q, @RequestParam(required = false) String currency,
+                                                      @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> destinationService.searchDestinationFields(q, selected)));
+        }
         List<Destination> destinations = destinationService.searchDestinations(q);
-        return ResponseEntity.ok(destinations);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toDestinationResponses(destinations), currency));
     }
     
     @GetMapping("/price-range")
-    public ResponseEntity<List<Destination>> getDestinationsByPriceRange(
+    public ResponseEntity<List<?>> getDestinationsByPriceRange(
             @RequestParam Double minPrice, 
-            @RequestParam Double maxPrice) {
-        List<Destination> destinations = destinationService.getDestinationsByPriceRange(minPrice, maxPrice);
+            @RequestParam Double maxPrice,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> destinationService.getDestinationFieldsByPriceRange(minPrice, maxPrice, currency, selected)));
+        }
+        List<Destination> destinations = destinationService.getDestinationsByPriceRange(minPrice, maxPrice, currency);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toDestinationResponses(destinations), currency));
+    }
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyDestination>> getDestinationsNearby(
+            @RequestParam Double lat,
+            @RequestParam Double lon,
+            @RequestParam(defaultValue = "300") Double radiusKm,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includePackages) {
+        List<NearbyDestination> destinations = geoSearchService.findWithinRadius(lat, lon, radiusKm, limit, includePackages);
+        return ResponseEntity.ok(destinations);
+    }
+    
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyDestination>> getNearestDestinations(
+            @RequestParam Double lat,
+            @RequestParam Double lon,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(defaultValue = "false") boolean includePackages) {
+        List<NearbyDestination> destinations = geoSearchService.findNearest(lat, lon, k, includePackages);
         return ResponseEntity.ok(destinations);
     }
     
     @PostMapping
-    public ResponseEntity<Destination> createDestination(@RequestBody Destination destination) {
+    public ResponseEntity<DestinationResponse> createDestination(@RequestBody Destination destination) {
         Destination createdDestination = destinationService.createDestination(destination);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdDestination);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toResponse(createdDestination));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Destination> updateDestination(@PathVariable Long id, @RequestBody Destination destination) {
-        try {
-            Destination updatedDestination = destinationService.updateDestination(id, destination);
-            return ResponseEntity.ok(updatedDestination);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<DestinationResponse> updateDestination(@PathVariable Long id, @RequestBody Destination destination) {
+        Destination updatedDestination = destinationService.updateDestination(id, destination);
+        return ResponseEntity.ok(responseMapper.toResponse(updatedDestination));
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDestination(@PathVariable Long id) {
-        try {
-            destinationService.deleteDestination(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        destinationService.deleteDestination(id);
+        return ResponseEntity.noContent().build();
     }
     
     @PatchMapping("/{id}/toggle-status")
-    public ResponseEntity<Destination> toggleDestinationStatus(@PathVariable Long id) {
-        try {
-            destinationService.toggleDestinationStatus(id);
-            return destinationService.getDestinationById(id)
-                    .map(destination -> ResponseEntity.ok(destination))
-                    .orElse(ResponseEntity.notFound().build());
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<DestinationResponse> toggleDestinationStatus(@PathVariable Long id) {
+        destinationService.toggleDestinationStatus(id);
+        return destinationService.getDestinationWithDetails(id)
+                .map(destination -> ResponseEntity.ok(responseMapper.toResponse(destination)))
+                .orElse(ResponseEntity.notFound().build());
     }
 }
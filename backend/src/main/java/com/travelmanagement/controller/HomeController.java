@@ -0,0 +1,37 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.dto.HomePage;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.mapper.ResponseMapper;
+import com.travelmanagement.service.CurrencyService;
+import com.travelmanagement.service.HomePageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/home")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class HomeController {
+    
+    private final HomePageService homePageService;
+    private final CurrencyService currencyService;
+    private final ResponseMapper responseMapper;
+    
+    // Featured destinations, featured packages and packages with free seats in one round trip
+    @GetMapping
+    public ResponseEntity<HomePage<?, ?>> getHomePage(@RequestParam(required = false) String currency) {
+        // An unknown currency is rejected before any query runs
+        if (currency != null) {
+            currencyService.requireSupported(currency);
+        }
+        HomePage<Destination, TravelPackage> page = homePageService.getHomePage();
+        return ResponseEntity.ok(new HomePage<>(
+                currencyService.price(responseMapper.toDestinationResponses(page.getFeaturedDestinations()), currency),
+                currencyService.price(responseMapper.toPackageResponses(page.getFeaturedPackages()), currency),
+                currencyService.price(responseMapper.toPackageResponses(page.getAvailablePackages()), currency),
+                page.getUnavailable()));
+    }
+}
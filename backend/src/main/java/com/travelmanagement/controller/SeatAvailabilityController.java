@@ -0,0 +1,26 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.service.SeatAvailabilityBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/packages")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class SeatAvailabilityController {
+    
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+    
+    // Server-Sent Events stream of "availability" events for the given packages
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(seatAvailabilityBroadcaster.subscribe(new LinkedHashSet<>(ids)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.dto.BookingResponse;
+import com.travelmanagement.dto.SeatHold;
+import com.travelmanagement.dto.SeatHoldRequest;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.mapper.ResponseMapper;
+import com.travelmanagement.service.BookingService;
+import com.travelmanagement.service.SeatHoldService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class SeatHoldController {
+    
+    private final SeatHoldService seatHoldService;
+    private final BookingService bookingService;
+    private final ResponseMapper responseMapper;
+    
+    @PostMapping
+    public ResponseEntity<SeatHold> createHold(@RequestBody SeatHoldRequest request) {
+        SeatHold hold = seatHoldService.hold(request.getPackageId(), request.getUserId(), request.getSeats());
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<SeatHold> getHold(@PathVariable String id) {
+        return seatHoldService.getHold(id)
+                .map(hold -> ResponseEntity.ok(hold))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // The body may carry special requests; package, participants and user come from the hold
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable String id, @RequestBody(required = false) Booking booking) {
+        Booking createdBooking = bookingService.confirmHold(id, booking == null ? new Booking() : booking);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toResponse(createdBooking));
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String id) {
+        seatHoldService.release(id);
+        return ResponseEntity.noContent().build();
+    }
+}
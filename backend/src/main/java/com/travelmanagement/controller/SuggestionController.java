@@ -0,0 +1,27 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.index.Suggestion;
+import com.travelmanagement.service.SuggestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class SuggestionController {
+    
+    private final SuggestionService suggestionService;
+    
+    @GetMapping
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Suggestion.Type type,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<Suggestion> suggestions = suggestionService.suggest(q, type, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+}
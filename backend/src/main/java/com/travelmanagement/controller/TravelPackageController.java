@@ -1,6 +1,11 @@
 package com.travelmanagement.controller;
 
+import com.travelmanagement.dto.BatchResult;
+import com.travelmanagement.dto.TravelPackageResponse;
 import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.mapper.ResponseMapper;
+import com.travelmanagement.service.Bulkhead;
+import com.travelmanagement.service.CurrencyService;
 import com.travelmanagement.service.TravelPackageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -10,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/packages")
@@ -18,100 +24,153 @@ import java.util.List;
 public class TravelPackageController {
     
     private final TravelPackageService travelPackageService;
+    private final CurrencyService currencyService;
+    private final ResponseMapper responseMapper;
+    private final Bulkhead searchBulkhead;
     
+    // Every list endpoint takes fields=name,price,destination.name to read and return only those fields
     @GetMapping
-    public ResponseEntity<List<TravelPackage>> getAllPackages() {
+    public ResponseEntity<List<?>> getAllPackages(@RequestParam(required = false) String currency,
+                                                  @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    travelPackageService::getActivePackageFields));
+        }
         List<TravelPackage> packages = travelPackageService.getActivePackages();
-        return ResponseEntity.ok(packages);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
     }
     
     @GetMapping("/featured")
-    public ResponseEntity<List<TravelPackage>> getFeaturedPackages() {
+    public ResponseEntity<List<?>> getFeaturedPackages(@RequestParam(required = false) String currency,
+                                                       @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    travelPackageService::getFeaturedPackageFields));
+        }
         List<TravelPackage> packages = travelPackageService.getFeaturedPackages();
-        return ResponseEntity.ok(packages);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
+    }
+    
+    // ids=1,2,3 in one round trip: results follow the requested order, with null and an entry in
+    // missing for every id that does not exist
+    @GetMapping("/batch")
+    public ResponseEntity<BatchResult<?>> getPackagesByIds(@RequestParam List<Long> ids,
+                                                           @RequestParam(required = false) String currency) {
+        BatchResult<TravelPackage> packages = travelPackageService.getPackagesInRequestOrder(ids);
+        return ResponseEntity.ok(packages.mapFound(found ->
+                currencyService.price(responseMapper.toPackageResponses(found), currency)));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<TravelPackage> getPackageById(@PathVariable Long id) {
-        return travelPackageService.getPackageById(id)
-                .map(package_ -> ResponseEntity.ok(package_))
+    public ResponseEntity<TravelPackageResponse> getPackageById(@PathVariable Long id) {
+        return travelPackageService.getPackageWithDetails(id)
+                .map(package_ -> ResponseEntity.ok(responseMapper.toResponse(package_)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/destination/{destinationId}")
-    public ResponseEntity<List<TravelPackage>> getPackagesByDestination(@PathVariable Long destinationId) {
+    public ResponseEntity<List<?>> getPackagesByDestination(@PathVariable Long destinationId, @RequestParam(required = false) String currency,
+                                                            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> travelPackageService.getPackageFieldsByDestination(destinationId, selected)));
+        }
         List<TravelPackage> packages = travelPackageService.getPackagesByDestination(destinationId);
-        return ResponseEntity.ok(packages);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
     }
     
     @GetMapping("/type/{packageType}")
-    public ResponseEntity<List<TravelPackage>> getPackagesByType(@PathVariable TravelPackage.PackageType packageType) {
+    public ResponseEntity<List<?>> getPackagesByType(@PathVariable TravelPackage.PackageType packageType, @RequestParam(required = false) String currency,
+                                                     @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> travelPackageService.getPackageFieldsByType(packageType, selected)));
+        }
         List<TravelPackage> packages = travelPackageService.getPackagesByType(packageType);
-        return ResponseEntity.ok(packages);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
     }
     
+    // Runs on the search bulkhead like /search and /price-range; a full bulkhead or a passed deadline is a 503.
+    // Entity reads are coalesced, and the coalescer opens the transaction, so they run without one.
     @GetMapping("/available")
-    public ResponseEntity<List<TravelPackage>> getAvailablePackages(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate) {
-        List<TravelPackage> packages = travelPackageService.getAvailablePackages(startDate);
-        return ResponseEntity.ok(packages);
+    public CompletableFuture<ResponseEntity<List<?>>> getAvailablePackages(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return searchBulkhead.submit(() -> ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> travelPackageService.getAvailablePackageFields(startDate, selected))));
+        }
+        return searchBulkhead.submitWithoutTransaction(() -> {
+            List<TravelPackage> packages = travelPackageService.getAvailablePackages(startDate);
+            return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
+        });
     }
     
     @GetMapping("/available-space")
-    public ResponseEntity<List<TravelPackage>> getAvailablePackagesWithSpace() {
+    public ResponseEntity<List<?>> getAvailablePackagesWithSpace(@RequestParam(required = false) String currency,
+                                                                 @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    travelPackageService::getAvailablePackageFieldsWithSpace));
+        }
         List<TravelPackage> packages = travelPackageService.getAvailablePackagesWithSpace();
-        return ResponseEntity.ok(packages);
+        return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<TravelPackage>> searchPackages(@RequestParam String q) {
-        List<TravelPackage> packages = travelPackageService.searchPackages(q);
-        return ResponseEntity.ok(packages);
+    public CompletableFuture<ResponseEntity<List<?>>> searchPackages(@RequestParam String q,
+                                                                     @RequestParam(required = false) String currency,
+                                                                     @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return searchBulkhead.submit(() -> ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> travelPackageService.searchPackageFields(q, selected))));
+        }
+        return searchBulkhead.submitWithoutTransaction(() -> {
+            List<TravelPackage> packages = travelPackageService.searchPackages(q);
+            return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
+        });
     }
     
     @GetMapping("/price-range")
-    public ResponseEntity<List<TravelPackage>> getPackagesByPriceRange(
+    public CompletableFuture<ResponseEntity<List<?>>> getPackagesByPriceRange(
             @RequestParam Double minPrice, 
-            @RequestParam Double maxPrice) {
-        List<TravelPackage> packages = travelPackageService.getPackagesByPriceRange(minPrice, maxPrice);
-        return ResponseEntity.ok(packages);
+            @RequestParam Double maxPrice,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return searchBulkhead.submit(() -> ResponseEntity.ok(currencyService.priceSelected(fields, "price", currency,
+                    selected -> travelPackageService.getPackageFieldsByPriceRange(minPrice, maxPrice, currency, selected))));
+        }
+        return searchBulkhead.submitWithoutTransaction(() -> {
+            List<TravelPackage> packages = travelPackageService.getPackagesByPriceRange(minPrice, maxPrice, currency);
+            return ResponseEntity.ok(currencyService.price(responseMapper.toPackageResponses(packages), currency));
+        });
     }
     
     @PostMapping
-    public ResponseEntity<TravelPackage> createPackage(@RequestBody TravelPackage travelPackage) {
+    public ResponseEntity<TravelPackageResponse> createPackage(@RequestBody TravelPackage travelPackage) {
         TravelPackage createdPackage = travelPackageService.createPackage(travelPackage);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPackage);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toResponse(createdPackage));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<TravelPackage> updatePackage(@PathVariable Long id, @RequestBody TravelPackage travelPackage) {
-        try {
-            TravelPackage updatedPackage = travelPackageService.updatePackage(id, travelPackage);
-            return ResponseEntity.ok(updatedPackage);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<TravelPackageResponse> updatePackage(@PathVariable Long id, @RequestBody TravelPackage travelPackage) {
+        TravelPackage updatedPackage = travelPackageService.updatePackage(id, travelPackage);
+        return ResponseEntity.ok(responseMapper.toResponse(updatedPackage));
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePackage(@PathVariable Long id) {
-        try {
-            travelPackageService.deletePackage(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        travelPackageService.deletePackage(id);
+        return ResponseEntity.noContent().build();
     }
     
     @PatchMapping("/{id}/toggle-status")
-    public ResponseEntity<TravelPackage> togglePackageStatus(@PathVariable Long id) {
-        try {
-            travelPackageService.togglePackageStatus(id);
-            return travelPackageService.getPackageById(id)
-                    .map(package_ -> ResponseEntity.ok(package_))
-                    .orElse(ResponseEntity.notFound().build());
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<TravelPackageResponse> togglePackageStatus(@PathVariable Long id) {
+        travelPackageService.togglePackageStatus(id);
+        return travelPackageService.getPackageWithDetails(id)
+                .map(package_ -> ResponseEntity.ok(responseMapper.toResponse(package_)))
+                .orElse(ResponseEntity.notFound().build());
     }
 }
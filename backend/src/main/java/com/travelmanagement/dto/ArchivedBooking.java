@@ -0,0 +1,41 @@
+package com.travelmanagement.dto;
+
+import com.travelmanagement.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A booking row as stored in the archive: scalar columns only, users and packages by id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+    
+    private Long id;
+    
+    private Long userId;
+    
+    private Long packageId;
+    
+    private Integer numberOfParticipants;
+    
+    private Double totalPrice;
+    
+    private String currency;
+    
+    private Booking.BookingStatus bookingStatus;
+    
+    private Booking.PaymentStatus paymentStatus;
+    
+    private String specialRequests;
+    
+    private String bookingReference;
+    
+    private LocalDateTime bookingDate;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
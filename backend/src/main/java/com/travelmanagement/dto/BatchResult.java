@@ -0,0 +1,55 @@
+package com.travelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Answer to a fetch-by-ids request: results has one entry per requested id, in request order and
+// including repeats, with null where nothing was found; missing lists those ids once each
+@Getter
+@AllArgsConstructor
+public class BatchResult<T> {
+    
+    private final List<T> results;
+    
+    private final List<Long> missing;
+    
+    public static <T> BatchResult<T> inRequestOrder(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T item : found) {
+            byId.put(idOf.apply(item), item);
+        }
+        List<T> results = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T item = byId.get(id);
+            results.add(item);
+            if (item == null && !missing.contains(id)) {
+                missing.add(id);
+            }
+        }
+        return new BatchResult<>(results, missing);
+    }
+    
+    // Converts the found entries with one call, e.g. to price them, keeping positions and misses
+    public <R> BatchResult<R> mapFound(Function<List<T>, List<R>> converter) {
+        List<T> found = new ArrayList<>();
+        for (T item : results) {
+            if (item != null) {
+                found.add(item);
+            }
+        }
+        List<R> converted = converter.apply(found);
+        List<R> mapped = new ArrayList<>(results.size());
+        int next = 0;
+        for (T item : results) {
+            mapped.add(item == null ? null : converted.get(next++));
+        }
+        return new BatchResult<>(mapped, missing);
+    }
+}
@@ -0,0 +1,26 @@
+package com.travelmanagement.dto;
+
+import com.travelmanagement.entity.Booking;
+
+import java.time.LocalDateTime;
+
+public record BookingResponse(
+        Long id,
+        UserResponse user,
+        TravelPackageResponse travelPackage,
+        Integer numberOfParticipants,
+        Double totalPrice,
+        String currency,
+        Booking.BookingStatus bookingStatus,
+        Booking.PaymentStatus paymentStatus,
+        String specialRequests,
+        String bookingReference,
+        LocalDateTime bookingDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) implements Priced {
+    
+    @Override
+    public Double price() {
+        return totalPrice;
+    }
+}
@@ -0,0 +1,21 @@
+package com.travelmanagement.dto;
+
+import com.travelmanagement.entity.ChangeRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPage {
+    
+    private List<ChangeRecord> changes;
+    
+    // Pass back as since= to continue; equal to the request's since when nothing new was found
+    private Long nextCursor;
+    
+    private Boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.travelmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+// The long text fields are only present when the detail endpoint loaded them
+public record DestinationResponse(
+        Long id,
+        String name,
+        String country,
+        String city,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String description,
+        String imageUrl,
+        Double price,
+        String currency,
+        String bestTimeToVisit,
+        String climate,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String popularAttractions,
+        Double latitude,
+        Double longitude,
+        Boolean isFeatured,
+        Boolean isActive,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) implements Priced {
+}
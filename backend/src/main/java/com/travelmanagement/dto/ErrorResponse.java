@@ -0,0 +1,12 @@
+package com.travelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// {"error": "..."}, the body the frontend reads the message of a failed request from
+@Getter
+@AllArgsConstructor
+public class ErrorResponse {
+    
+    private final String error;
+}
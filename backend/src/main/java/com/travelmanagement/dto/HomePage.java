@@ -0,0 +1,21 @@
+package com.travelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Everything the home page renders on load. A section whose query failed or ran past its timeout
+// is an empty list and is named in unavailable, so the client can retry it from its own endpoint.
+@Getter
+@AllArgsConstructor
+public class HomePage<D, P> {
+    
+    private final List<D> featuredDestinations;
+    
+    private final List<P> featuredPackages;
+    
+    private final List<P> availablePackages;
+    
+    private final List<String> unavailable;
+}
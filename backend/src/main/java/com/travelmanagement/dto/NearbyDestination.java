@@ -0,0 +1,22 @@
+package com.travelmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NearbyDestination {
+    
+    private DestinationResponse destination;
+    
+    private Double distanceKm;
+    
+    // Only filled when the caller asks for packages
+    private List<TravelPackageResponse> packages;
+}
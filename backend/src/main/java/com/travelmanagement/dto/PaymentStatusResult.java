@@ -0,0 +1,22 @@
+package com.travelmanagement.dto;
+
+import com.travelmanagement.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusResult {
+    
+    private String bookingReference;
+    
+    private Booking.PaymentStatus paymentStatus;
+    
+    private Outcome outcome;
+    
+    public enum Outcome {
+        UPDATED, NOT_FOUND, REJECTED, INVALID, SUPERSEDED, FAILED
+    }
+}
@@ -0,0 +1,16 @@
+package com.travelmanagement.dto;
+
+import com.travelmanagement.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentStatusUpdate {
+    
+    private String bookingReference;
+    
+    private Booking.PaymentStatus paymentStatus;
+}
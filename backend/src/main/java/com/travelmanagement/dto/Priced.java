@@ -0,0 +1,9 @@
+package com.travelmanagement.dto;
+
+// A response that has a price in its own currency, which CurrencyService can convert for display
+public interface Priced {
+    
+    Double price();
+    
+    String currency();
+}
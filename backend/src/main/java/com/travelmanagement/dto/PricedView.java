@@ -0,0 +1,22 @@
+package com.travelmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Serializes as the wrapped entity plus displayPrice/displayCurrency when a target currency was
+// requested, and exactly as the bare entity otherwise. The entity itself is never modified, so a
+// converted price can not be flushed back to the database.
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PricedView<T> {
+    
+    @JsonUnwrapped
+    private final T item;
+    
+    private final Double displayPrice;
+    
+    private final String displayCurrency;
+}
@@ -0,0 +1,19 @@
+package com.travelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailability {
+    
+    private Long packageId;
+    
+    private Integer maxParticipants;
+    
+    private Integer bookedSeats;
+    
+    private Integer availableSeats;
+}
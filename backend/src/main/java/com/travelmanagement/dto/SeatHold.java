@@ -0,0 +1,23 @@
+package com.travelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+    
+    private String id;
+    
+    private Long packageId;
+    
+    private Long userId;
+    
+    private Integer seats;
+    
+    private LocalDateTime expiresAt;
+}
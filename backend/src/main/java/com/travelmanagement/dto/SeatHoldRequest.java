@@ -0,0 +1,17 @@
+package com.travelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequest {
+    
+    private Long packageId;
+    
+    private Long userId;
+    
+    private Integer seats;
+}
@@ -0,0 +1,32 @@
+package com.travelmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.travelmanagement.entity.TravelPackage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// The long text fields are only present when the detail endpoint loaded them. version is sent so an
+// edit can be submitted against the version it was made on; PUT /api/packages/{id} answers 409 when
+// the package has changed since.
+public record TravelPackageResponse(
+        Long id,
+        String name,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String description,
+        DestinationResponse destination,
+        LocalDate startDate,
+        LocalDate endDate,
+        Double price,
+        String currency,
+        Integer maxParticipants,
+        Integer currentParticipants,
+        TravelPackage.PackageType packageType,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String includes,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String excludes,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String itinerary,
+        Boolean isFeatured,
+        Boolean isActive,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) implements Priced {
+}
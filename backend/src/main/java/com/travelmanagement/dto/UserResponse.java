@@ -0,0 +1,19 @@
+package com.travelmanagement.dto;
+
+import com.travelmanagement.entity.User;
+
+import java.time.LocalDateTime;
+
+// What the API shows of a user: never the password hash, and none of the UserDetails flags or
+// authorities the entity exposes for Spring Security
+public record UserResponse(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        User.Role role,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
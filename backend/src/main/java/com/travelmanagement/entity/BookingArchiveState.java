@@ -0,0 +1,26 @@
+package com.travelmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Single row leasing the archive job to one instance; the holder renews it after every chunk
+@Entity
+@Table(name = "booking_archive_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingArchiveState {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+    
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+}
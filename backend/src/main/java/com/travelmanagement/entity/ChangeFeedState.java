@@ -0,0 +1,21 @@
+package com.travelmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single row holding the last sequence number handed out; relays lock it so they never overlap
+@Entity
+@Table(name = "change_feed_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedState {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
@@ -0,0 +1,62 @@
+package com.travelmanagement.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.travelmanagement.config.RawJsonSerializer;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per catalog or booking write, appended in the writing transaction. The id only orders
+// inserts; the feed cursor is the sequence number the relay assigns after commit, because
+// auto-increment ids can become visible out of order when transactions commit out of order.
+@Entity
+@Table(name = "change_outbox", indexes = {
+        @Index(name = "uk_change_outbox_sequence", columnList = "sequence_number", unique = true),
+        @Index(name = "idx_change_outbox_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+    
+    // Null until the relay has picked the record up
+    @Column(name = "sequence_number")
+    private Long sequence;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+    
+    // JSON of the entity's scalar fields after the write; null for deletes and for set-based
+    // updates, where consumers re-fetch the entity
+    @JsonSerialize(using = RawJsonSerializer.class)
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum EntityType {
+        DESTINATION, PACKAGE, BOOKING
+    }
+    
+    public enum ChangeType {
+        UPSERT, DELETE
+    }
+}
@@ -0,0 +1,92 @@
+package com.travelmanagement.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Stores text as a one-byte format marker followed by raw UTF-8 or DEFLATE output. Only texts long
+// enough to benefit are compressed, and only when the result is actually smaller, so every stored
+// value is at most one byte larger than its UTF-8 form and rows written either way stay readable.
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+    
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+    private static final int MIN_COMPRESSED_LENGTH = 256;
+    
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return encode(text);
+    }
+    
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        return decode(data);
+    }
+    
+    public static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESSED_LENGTH) {
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(utf8);
+                deflater.finish();
+                // Output that does not fit in fewer bytes than the input is not worth keeping
+                byte[] buffer = new byte[utf8.length];
+                buffer[0] = DEFLATED;
+                int length = deflater.deflate(buffer, 1, buffer.length - 1);
+                if (deflater.finished()) {
+                    return Arrays.copyOf(buffer, length + 1);
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        byte[] raw = new byte[utf8.length + 1];
+        raw[0] = RAW;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+    
+    public static String decode(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0) {
+            return "";
+        }
+        if (data[0] == RAW) {
+            return new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+        }
+        if (data[0] != DEFLATED) {
+            throw new IllegalStateException("Unknown stored text format: " + data[0]);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(chunk);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                output.write(chunk, 0, length);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.travelmanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,6 +21,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "destinations")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,7 +43,9 @@ public class Destination {
     @Column(nullable = false)
     private String city;
     
-    @Column(columnDefinition = "TEXT")
+    // The long text fields live in destination_details and are only filled in by the detail endpoint
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     
     @Column(name = "image_url")
@@ -55,9 +65,20 @@ public class Destination {
     @Column(name = "climate")
     private String climate;
     
-    @Column(name = "popular_attractions", columnDefinition = "TEXT")
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String popularAttractions;
     
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "is_featured")
     private Boolean isFeatured = false;
     
@@ -70,6 +91,11 @@ public class Destination {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Back-reference; serializing it would recurse through the owning side forever, and equals,
+    // hashCode and toString would load every package
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "destination", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TravelPackage> packages = new ArrayList<>();
     
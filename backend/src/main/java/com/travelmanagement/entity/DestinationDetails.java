@@ -0,0 +1,37 @@
+package com.travelmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Long descriptive text of a destination, loaded only by the detail endpoint (see TravelPackageDetails)
+@Entity
+@Table(name = "destination_details")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationDetails {
+    
+    @Id
+    @Column(name = "destination_id")
+    private Long destinationId;
+    
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "description", columnDefinition = "MEDIUMBLOB")
+    private String description;
+    
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "popular_attractions", columnDefinition = "MEDIUMBLOB")
+    private String popularAttractions;
+    
+    public static DestinationDetails of(Destination destination) {
+        return new DestinationDetails(destination.getId(), destination.getDescription(),
+                destination.getPopularAttractions());
+    }
+    
+    public void applyTo(Destination destination) {
+        destination.setDescription(description);
+        destination.setPopularAttractions(popularAttractions);
+    }
+}
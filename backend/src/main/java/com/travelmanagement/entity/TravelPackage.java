@@ -1,12 +1,17 @@
 package com.travelmanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,6 +20,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "travel_packages")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,10 +34,15 @@ public class TravelPackage {
     @Column(nullable = false)
     private String name;
     
-    @Column(columnDefinition = "TEXT")
+    // The long text fields live in travel_package_details and are only filled in by the detail endpoint
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     
+    // Lazy; equals, hashCode and toString would otherwise initialize the proxy
     @NotNull(message = "Destination is required")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "destination_id", nullable = false)
     private Destination destination;
@@ -62,13 +73,16 @@ public class TravelPackage {
     @Enumerated(EnumType.STRING)
     private PackageType packageType = PackageType.STANDARD;
     
-    @Column(name = "includes", columnDefinition = "TEXT")
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String includes;
     
-    @Column(name = "excludes", columnDefinition = "TEXT")
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String excludes;
     
-    @Column(name = "itinerary", columnDefinition = "TEXT")
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String itinerary;
     
     @Column(name = "is_featured")
@@ -83,6 +97,15 @@ public class TravelPackage {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
+    // Back-reference; serializing it would recurse through the owning side forever, and equals,
+    // hashCode and toString would load every booking
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "travelPackage", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Booking> bookings = new ArrayList<>();
     
@@ -0,0 +1,48 @@
+package com.travelmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Long descriptive text of a travel package. Kept out of travel_packages so list queries only read
+// the narrow catalog row; shares the package's id and is loaded only by the detail endpoint.
+@Entity
+@Table(name = "travel_package_details")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelPackageDetails {
+    
+    @Id
+    @Column(name = "package_id")
+    private Long packageId;
+    
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "description", columnDefinition = "MEDIUMBLOB")
+    private String description;
+    
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "includes", columnDefinition = "MEDIUMBLOB")
+    private String includes;
+    
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "excludes", columnDefinition = "MEDIUMBLOB")
+    private String excludes;
+    
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "itinerary", columnDefinition = "MEDIUMBLOB")
+    private String itinerary;
+    
+    public static TravelPackageDetails of(TravelPackage travelPackage) {
+        return new TravelPackageDetails(travelPackage.getId(), travelPackage.getDescription(),
+                travelPackage.getIncludes(), travelPackage.getExcludes(), travelPackage.getItinerary());
+    }
+    
+    public void applyTo(TravelPackage travelPackage) {
+        travelPackage.setDescription(description);
+        travelPackage.setIncludes(includes);
+        travelPackage.setExcludes(excludes);
+        travelPackage.setItinerary(itinerary);
+    }
+}
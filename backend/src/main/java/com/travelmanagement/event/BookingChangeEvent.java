@@ -0,0 +1,19 @@
+package com.travelmanagement.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published whenever a write may change the confirmed seats of one or more packages
+@Getter
+@RequiredArgsConstructor
+public class BookingChangeEvent {
+    
+    private final Collection<Long> packageIds;
+    
+    public static BookingChangeEvent forPackage(Long packageId) {
+        return new BookingChangeEvent(List.of(packageId));
+    }
+}
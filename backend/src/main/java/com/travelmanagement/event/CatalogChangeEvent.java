@@ -0,0 +1,51 @@
+package com.travelmanagement.event;
+
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Published by DestinationService and TravelPackageService for every catalog write so in-memory
+// indexes can follow the catalog without polling the database
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogChangeEvent {
+    
+    private final EntityType entityType;
+    private final ChangeType changeType;
+    private final Long entityId;
+    private final Object entity;
+    
+    public static CatalogChangeEvent upserted(Destination destination) {
+        return new CatalogChangeEvent(EntityType.DESTINATION, ChangeType.UPSERT, destination.getId(), destination);
+    }
+    
+    public static CatalogChangeEvent upserted(TravelPackage travelPackage) {
+        return new CatalogChangeEvent(EntityType.PACKAGE, ChangeType.UPSERT, travelPackage.getId(), travelPackage);
+    }
+    
+    public static CatalogChangeEvent destinationDeleted(Long id) {
+        return new CatalogChangeEvent(EntityType.DESTINATION, ChangeType.DELETE, id, null);
+    }
+    
+    public static CatalogChangeEvent packageDeleted(Long id) {
+        return new CatalogChangeEvent(EntityType.PACKAGE, ChangeType.DELETE, id, null);
+    }
+    
+    public Destination getDestination() {
+        return (Destination) entity;
+    }
+    
+    public TravelPackage getTravelPackage() {
+        return (TravelPackage) entity;
+    }
+    
+    public enum EntityType {
+        DESTINATION, PACKAGE
+    }
+    
+    public enum ChangeType {
+        UPSERT, DELETE
+    }
+}
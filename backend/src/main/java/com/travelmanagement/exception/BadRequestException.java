@@ -0,0 +1,17 @@
+package com.travelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+// The request itself is invalid: a missing field, an unknown currency or field name, a value out of
+// range. The message is written for the client, so it only ever repeats what the client sent.
+public class BadRequestException extends DomainException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+    
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,9 @@
+package com.travelmanagement.exception;
+
+// A bulkhead's threads and queue are all taken; each bulkhead creates its instance once
+public class BulkheadRejectedException extends ServiceUnavailableException {
+    
+    public BulkheadRejectedException(String bulkhead) {
+        super("Too many " + bulkhead + " requests in progress");
+    }
+}
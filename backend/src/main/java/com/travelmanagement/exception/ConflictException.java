@@ -0,0 +1,22 @@
+package com.travelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+// The request is well-formed but the current state does not allow it
+public class ConflictException extends DomainException {
+    
+    public static final ConflictException PACKAGE_NOT_AVAILABLE = new ConflictException("Travel package is not available");
+    public static final ConflictException BOOKING_ALREADY_CANCELLED = new ConflictException("Booking is already cancelled");
+    public static final ConflictException USERNAME_TAKEN = new ConflictException("Username already exists");
+    public static final ConflictException EMAIL_TAKEN = new ConflictException("Email already exists");
+    public static final ConflictException STALE_PACKAGE_VERSION = new ConflictException("Travel package was changed since this version, reload and retry");
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+    
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
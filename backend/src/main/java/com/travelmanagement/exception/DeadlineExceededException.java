@@ -0,0 +1,9 @@
+package com.travelmanagement.exception;
+
+// A bulkhead task did not finish before its request's deadline; each bulkhead creates its instance once
+public class DeadlineExceededException extends ServiceUnavailableException {
+    
+    public DeadlineExceededException(String bulkhead, long timeoutMs) {
+        super("The " + bulkhead + " request did not finish within " + timeoutMs + " ms");
+    }
+}
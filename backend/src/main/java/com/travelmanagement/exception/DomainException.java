@@ -0,0 +1,25 @@
+package com.travelmanagement.exception;
+
+import com.travelmanagement.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+
+// Base of the expected failures services report: a missing entity, a sold-out package, a conflicting
+// update. They are answers rather than bugs, so they are created without a stack trace (filling one
+// in walks the whole servlet and proxy stack on every throw) and without suppressed exceptions, and
+// the error body is built once with the exception. Failures with a fixed message are shared
+// constants, so throwing one allocates nothing. ApiExceptionHandler writes the status and body.
+public abstract class DomainException extends RuntimeException {
+    
+    private final ErrorResponse body;
+    
+    protected DomainException(String message) {
+        super(message, null, false, false);
+        this.body = new ErrorResponse(message);
+    }
+    
+    public abstract HttpStatus getStatus();
+    
+    public ErrorResponse getBody() {
+        return body;
+    }
+}
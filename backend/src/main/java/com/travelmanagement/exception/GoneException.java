@@ -0,0 +1,18 @@
+package com.travelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+// The requested data existed but has been discarded, e.g. a change-feed cursor older than retention
+public class GoneException extends DomainException {
+    
+    public static final GoneException CHANGES_NOT_RETAINED = new GoneException("Changes after this cursor are no longer retained");
+    
+    private GoneException(String message) {
+        super(message);
+    }
+    
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.GONE;
+    }
+}
@@ -0,0 +1,17 @@
+package com.travelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCredentialsException extends DomainException {
+    
+    public static final InvalidCredentialsException INSTANCE = new InvalidCredentialsException();
+    
+    private InvalidCredentialsException() {
+        super("Invalid credentials");
+    }
+    
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
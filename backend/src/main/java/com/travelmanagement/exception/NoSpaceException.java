@@ -0,0 +1,11 @@
+package com.travelmanagement.exception;
+
+// A booking or seat hold asked for more seats than the package has left
+public class NoSpaceException extends ConflictException {
+    
+    public static final NoSpaceException INSTANCE = new NoSpaceException();
+    
+    private NoSpaceException() {
+        super("Not enough space available for this package");
+    }
+}
@@ -0,0 +1,23 @@
+package com.travelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+// One shared instance per kind of entity: the client already knows which id it asked for, so the
+// message does not repeat it and an unknown id costs no allocation
+public class NotFoundException extends DomainException {
+    
+    public static final NotFoundException TRAVEL_PACKAGE = new NotFoundException("Travel package not found");
+    public static final NotFoundException USER = new NotFoundException("User not found");
+    public static final NotFoundException DESTINATION = new NotFoundException("Destination not found");
+    public static final NotFoundException BOOKING = new NotFoundException("Booking not found");
+    public static final NotFoundException SEAT_HOLD = new NotFoundException("Seat hold not found or expired");
+    
+    private NotFoundException(String message) {
+        super(message);
+    }
+    
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
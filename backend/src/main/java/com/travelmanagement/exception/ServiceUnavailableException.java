@@ -0,0 +1,20 @@
+package com.travelmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+// A bounded resource is full or a request ran out of time: the request was fine and may succeed
+// if it is retried later
+public class ServiceUnavailableException extends DomainException {
+    
+    public static final ServiceUnavailableException TOO_MANY_SEAT_HOLDS = new ServiceUnavailableException("Too many active seat holds");
+    public static final ServiceUnavailableException TOO_MANY_SUBSCRIBERS = new ServiceUnavailableException("Too many availability subscribers");
+    
+    protected ServiceUnavailableException(String message) {
+        super(message);
+    }
+    
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
@@ -0,0 +1,86 @@
+package com.travelmanagement.index;
+
+import java.util.Base64;
+
+// Fixed-size Bloom filter over strings: mightContain never misses a key that was added, and returns
+// true for an absent key with roughly 1% probability at 10 bits per key. Probe positions come from
+// one 64-bit FNV-1a hash split in two (double hashing), so adding or testing a key hashes it once.
+// Serializes to base64 so a filter can be kept in a text index file.
+public class BloomFilter {
+    
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASHES = 7;
+    
+    private final long[] words;
+    private final long bitCount;
+    
+    private BloomFilter(long[] words) {
+        this.words = words;
+        this.bitCount = (long) words.length * Long.SIZE;
+    }
+    
+    public static BloomFilter withExpectedKeys(int keys) {
+        return new BloomFilter(new long[Math.max(1, (keys * BITS_PER_KEY + Long.SIZE - 1) / Long.SIZE)]);
+    }
+    
+    public void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public String encode() {
+        byte[] bytes = new byte[words.length * Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            for (int b = 0; b < Long.BYTES; b++) {
+                bytes[i * Long.BYTES + b] = (byte) (words[i] >>> (b * 8));
+            }
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+    
+    public static BloomFilter decode(String encoded) {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        if (bytes.length == 0 || bytes.length % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Not an encoded Bloom filter");
+        }
+        long[] words = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            for (int b = 0; b < Long.BYTES; b++) {
+                words[i] |= (bytes[i * Long.BYTES + b] & 0xFFL) << (b * 8);
+            }
+        }
+        return new BloomFilter(words);
+    }
+    
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // FNV leaves the high half poorly mixed for short keys; the murmur3 finalizer spreads it
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
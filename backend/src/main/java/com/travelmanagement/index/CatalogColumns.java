@@ -0,0 +1,217 @@
+package com.travelmanagement.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Immutable column-per-field snapshot of the active catalog. Rows are grouped by currency and kept in
+// ascending price order inside each group, so a currency-normalized price range is two binary searches
+// per currency; the other predicates are single passes over int arrays.
+// Every query returns matching ids in ascending id order, like the repository queries it replaces.
+public final class CatalogColumns {
+    
+    private final long[] ids;
+    private final double[] prices;
+    private final int[] startDays;
+    private final int[] freeSeats;
+    private final BitSet featured;
+    // Rows [partitionStarts[i], partitionStarts[i + 1]) are priced in partitionCurrencies[i]
+    private final String[] partitionCurrencies;
+    private final int[] partitionStarts;
+    
+    private CatalogColumns(long[] ids, double[] prices, int[] startDays, int[] freeSeats, BitSet featured,
+                           String[] partitionCurrencies, int[] partitionStarts) {
+        this.ids = ids;
+        this.prices = prices;
+        this.startDays = startDays;
+        this.freeSeats = freeSeats;
+        this.featured = featured;
+        this.partitionCurrencies = partitionCurrencies;
+        this.partitionStarts = partitionStarts;
+    }
+    
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+    
+    public int size() {
+        return ids.length;
+    }
+    
+    // Bounds are given per currency code ({min, max} in that currency); rows in other currencies never match
+    public long[] idsInPriceRange(Map<String, double[]> boundsByCurrency) {
+        int[] froms = new int[partitionCurrencies.length];
+        int[] tos = new int[partitionCurrencies.length];
+        int count = 0;
+        for (int partition = 0; partition < partitionCurrencies.length; partition++) {
+            double[] bounds = boundsByCurrency.get(partitionCurrencies[partition]);
+            if (bounds == null) {
+                continue;
+            }
+            froms[partition] = lowerBound(bounds[0], partitionStarts[partition], partitionStarts[partition + 1]);
+            tos[partition] = upperBound(bounds[1], froms[partition], partitionStarts[partition + 1]);
+            count += tos[partition] - froms[partition];
+        }
+        long[] result = new long[count];
+        int next = 0;
+        for (int partition = 0; partition < partitionCurrencies.length; partition++) {
+            int length = tos[partition] - froms[partition];
+            System.arraycopy(ids, froms[partition], result, next, length);
+            next += length;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    public long[] idsStartingOnOrAfter(int epochDay) {
+        int count = 0;
+        for (int startDay : startDays) {
+            if (startDay >= epochDay) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        int next = 0;
+        for (int row = 0; row < startDays.length; row++) {
+            if (startDays[row] >= epochDay) {
+                result[next++] = ids[row];
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    public long[] idsWithFreeSeats() {
+        int count = 0;
+        for (int seats : freeSeats) {
+            if (seats > 0) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        int next = 0;
+        for (int row = 0; row < freeSeats.length; row++) {
+            if (freeSeats[row] > 0) {
+                result[next++] = ids[row];
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    public long[] featuredIds() {
+        long[] result = new long[featured.cardinality()];
+        int next = 0;
+        for (int row = featured.nextSetBit(0); row >= 0; row = featured.nextSetBit(row + 1)) {
+            result[next++] = ids[row];
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    // First row in [low, high) with price >= minPrice
+    private int lowerBound(double minPrice, int low, int high) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (prices[middle] < minPrice) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    // First row in [low, high) with price > maxPrice
+    private int upperBound(double maxPrice, int low, int high) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (prices[middle] <= maxPrice) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    public static final class Builder {
+        
+        private long[] ids;
+        private String[] currencies;
+        private double[] prices;
+        private int[] startDays;
+        private int[] freeSeats;
+        private boolean[] featured;
+        private int size;
+        
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            currencies = new String[capacity];
+            prices = new double[capacity];
+            startDays = new int[capacity];
+            freeSeats = new int[capacity];
+            featured = new boolean[capacity];
+        }
+        
+        public Builder add(long id, String currency, double price, int startDay, int seats, boolean isFeatured) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                currencies = Arrays.copyOf(currencies, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                startDays = Arrays.copyOf(startDays, capacity);
+                freeSeats = Arrays.copyOf(freeSeats, capacity);
+                featured = Arrays.copyOf(featured, capacity);
+            }
+            ids[size] = id;
+            currencies[size] = currency;
+            prices[size] = price;
+            startDays[size] = startDay;
+            freeSeats[size] = seats;
+            featured[size] = isFeatured;
+            size++;
+            return this;
+        }
+        
+        public CatalogColumns build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer, String>comparing(row -> currencies[row])
+                    .thenComparingDouble(row -> prices[row])
+                    .thenComparingLong(row -> ids[row]));
+            
+            long[] sortedIds = new long[size];
+            double[] sortedPrices = new double[size];
+            int[] sortedStartDays = new int[size];
+            int[] sortedFreeSeats = new int[size];
+            BitSet sortedFeatured = new BitSet(size);
+            List<String> partitionCurrencies = new ArrayList<>();
+            List<Integer> partitionStarts = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                int source = order[row];
+                if (row == 0 || !currencies[source].equals(currencies[order[row - 1]])) {
+                    partitionCurrencies.add(currencies[source]);
+                    partitionStarts.add(row);
+                }
+                sortedIds[row] = ids[source];
+                sortedPrices[row] = prices[source];
+                sortedStartDays[row] = startDays[source];
+                sortedFreeSeats[row] = freeSeats[source];
+                if (featured[source]) {
+                    sortedFeatured.set(row);
+                }
+            }
+            partitionStarts.add(size);
+            return new CatalogColumns(sortedIds, sortedPrices, sortedStartDays, sortedFreeSeats, sortedFeatured,
+                    partitionCurrencies.toArray(new String[0]),
+                    partitionStarts.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.travelmanagement.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Uniform latitude/longitude grid: a radius query only visits the cells overlapping the query's
+// bounding box, so its cost follows local density rather than the total number of points.
+// Not thread-safe; GeoSearchService guards it with a read/write lock.
+public class GeoGridIndex {
+    
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double HALF_CIRCUMFERENCE_KM = Math.PI * EARTH_RADIUS_KM;
+    
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 90) {
+            throw new IllegalArgumentException("cellDegrees must be in (0, 90]");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+    
+    public int size() {
+        return points.size();
+    }
+    
+    public void put(Long id, double latitude, double longitude) {
+        remove(id);
+        long cell = cellKey(row(latitude), column(longitude));
+        Point point = new Point(id, latitude, longitude, cell);
+        points.put(id, point);
+        cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(point);
+    }
+    
+    public void remove(Long id) {
+        Point point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+        List<Point> cell = cells.get(point.cell());
+        cell.remove(point);
+        if (cell.isEmpty()) {
+            cells.remove(point.cell());
+        }
+    }
+    
+    // All points within radiusKm, nearest first
+    public List<GeoHit> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        List<GeoHit> hits = new ArrayList<>();
+        double angular = Math.min(radiusKm, HALF_CIRCUMFERENCE_KM) / EARTH_RADIUS_KM;
+        double minLatitude = latitude - Math.toDegrees(angular);
+        double maxLatitude = latitude + Math.toDegrees(angular);
+        
+        // Bounding box of a spherical cap; it spans every longitude once it reaches a pole
+        int firstColumn;
+        int lastColumn;
+        if (minLatitude <= -90 || maxLatitude >= 90) {
+            minLatitude = Math.max(minLatitude, -90);
+            maxLatitude = Math.min(maxLatitude, 90);
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        } else {
+            double deltaLongitude = Math.toDegrees(Math.asin(Math.sin(angular) / Math.cos(Math.toRadians(latitude))));
+            firstColumn = (int) Math.floor((longitude - deltaLongitude + 180) / cellDegrees);
+            lastColumn = (int) Math.floor((longitude + deltaLongitude + 180) / cellDegrees);
+            if (lastColumn - firstColumn + 1 >= columns) {
+                firstColumn = 0;
+                lastColumn = columns - 1;
+            }
+        }
+        
+        for (int row = row(minLatitude); row <= row(maxLatitude); row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                List<Point> cell = cells.get(cellKey(row, Math.floorMod(column, columns)));
+                if (cell == null) {
+                    continue;
+                }
+                for (Point point : cell) {
+                    double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                    if (distance <= radiusKm) {
+                        hits.add(new GeoHit(point.id(), distance));
+                    }
+                }
+            }
+        }
+        
+        hits.sort(Comparator.comparingDouble(GeoHit::distanceKm).thenComparing(GeoHit::id));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+    
+    // The k nearest points, found by doubling the search radius until k points are inside it
+    public List<GeoHit> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        if (points.isEmpty() || k < 1) {
+            return Collections.emptyList();
+        }
+        double limit = Math.min(maxRadiusKm, HALF_CIRCUMFERENCE_KM);
+        double radius = Math.min(cellDegrees * 111.2, limit);
+        while (true) {
+            List<GeoHit> hits = withinRadius(latitude, longitude, radius, k);
+            if (hits.size() >= k || radius >= limit) {
+                return hits;
+            }
+            radius = Math.min(radius * 2, limit);
+        }
+    }
+    
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+    
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+    
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+    
+    public record GeoHit(Long id, double distanceKm) {
+    }
+    
+    private record Point(Long id, double latitude, double longitude, long cell) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.travelmanagement.index;
+
+import java.util.function.Consumer;
+
+// Hashed hierarchical timing wheel over an abstract tick counter. Level 0 has one slot per tick;
+// each higher level has one slot per full turn of the level below, so a few levels of a few hundred
+// slots cover months of ticks. A timer goes into the lowest level whose span covers its delay, and
+// moves down a level when the wheel reaches its slot ("cascading"). Scheduling and cancelling are
+// O(1): every slot is an intrusive doubly-linked list, and a timer knows the slot it is in.
+// Advancing costs one slot visit per tick plus one move per timer per level it descends.
+// Not thread-safe; SeatHoldService guards it with a lock.
+public class HierarchicalTimingWheel<T> {
+    
+    private final int slotBits;
+    private final int mask;
+    private final Slot<T>[][] levels;
+    private final long maxDelay;
+    private long currentTick;
+    private int size;
+    
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(int slotBits, int levelCount, long startTick) {
+        if (slotBits < 1 || levelCount < 1 || (long) slotBits * levelCount > 62) {
+            throw new IllegalArgumentException("slotBits * levelCount must be between 1 and 62");
+        }
+        this.slotBits = slotBits;
+        this.mask = (1 << slotBits) - 1;
+        this.levels = new Slot[levelCount][1 << slotBits];
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.maxDelay = (1L << (slotBits * levelCount)) - 1;
+        this.currentTick = startTick;
+    }
+    
+    public long currentTick() {
+        return currentTick;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    // Fires on the first advance that reaches deadlineTick; deadlines in the past fire on the next tick,
+    // deadlines beyond the wheel's span are clamped to it
+    public Timer<T> schedule(T payload, long deadlineTick) {
+        Timer<T> timer = new Timer<>(payload, Math.min(Math.max(deadlineTick, currentTick + 1), currentTick + maxDelay));
+        place(timer);
+        size++;
+        return timer;
+    }
+    
+    // False when the timer has already fired or was cancelled before
+    public boolean cancel(Timer<T> timer) {
+        if (timer.slot == null) {
+            return false;
+        }
+        timer.slot.unlink(timer);
+        size--;
+        return true;
+    }
+    
+    // Moves the wheel forward to toTick, handing every timer whose deadline is passed to expired
+    // in deadline order
+    public void advance(long toTick, Consumer<T> expired) {
+        while (currentTick < toTick) {
+            currentTick++;
+            // Refill the lower levels from the slots that have just come due, highest level last so
+            // its timers can still land in a level-1 slot that is further ahead
+            for (int level = 1; level < levels.length; level++) {
+                int shift = slotBits * level;
+                if ((currentTick & ((1L << shift) - 1)) != 0) {
+                    break;
+                }
+                Slot<T> slot = levels[level][(int) (currentTick >>> shift) & mask];
+                for (Timer<T> timer = slot.detachAll(); timer != null; ) {
+                    Timer<T> next = timer.next;
+                    place(timer);
+                    timer = next;
+                }
+            }
+            Slot<T> due = levels[0][(int) currentTick & mask];
+            for (Timer<T> timer = due.detachAll(); timer != null; ) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                size--;
+                expired.accept(timer.payload);
+                timer = next;
+            }
+        }
+    }
+    
+    private void place(Timer<T> timer) {
+        long delay = timer.deadline - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delay >= 1L << (slotBits * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) (timer.deadline >>> (slotBits * level)) & mask].link(timer);
+    }
+    
+    public static final class Timer<T> {
+        
+        private final T payload;
+        private final long deadline;
+        private Slot<T> slot;
+        private Timer<T> previous;
+        private Timer<T> next;
+        
+        private Timer(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+        
+        public T payload() {
+            return payload;
+        }
+        
+        public long deadline() {
+            return deadline;
+        }
+    }
+    
+    private static final class Slot<T> {
+        
+        private Timer<T> head;
+        
+        void link(Timer<T> timer) {
+            timer.slot = this;
+            timer.previous = null;
+            timer.next = head;
+            if (head != null) {
+                head.previous = timer;
+            }
+            head = timer;
+        }
+        
+        void unlink(Timer<T> timer) {
+            if (timer.previous == null) {
+                head = timer.next;
+            } else {
+                timer.previous.next = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.previous = timer.previous;
+            }
+            timer.slot = null;
+            timer.previous = null;
+            timer.next = null;
+        }
+        
+        // Empties the slot and returns its former chain; the timers no longer count as linked
+        Timer<T> detachAll() {
+            Timer<T> first = head;
+            head = null;
+            for (Timer<T> timer = first; timer != null; timer = timer.next) {
+                timer.slot = null;
+                timer.previous = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.travelmanagement.index;
+
+public record Suggestion(Type type, Long id, String text, long score) {
+    
+    public enum Type {
+        DESTINATION, PACKAGE
+    }
+    
+    boolean sameItem(Suggestion other) {
+        return type == other.type && id.equals(other.id);
+    }
+    
+    // Higher score first, then shorter and alphabetically earlier text for stable ordering
+    public int rankAgainst(Suggestion other) {
+        int byScore = Long.compare(other.score, score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byLength = Integer.compare(text.length(), other.text.length());
+        return byLength != 0 ? byLength : text.compareTo(other.text);
+    }
+}
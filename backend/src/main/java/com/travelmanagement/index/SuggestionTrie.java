@@ -0,0 +1,238 @@
+package com.travelmanagement.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Path-compressed prefix trie where every node caches the top-K suggestions of its whole subtree,
+// so a lookup is a walk down the typed prefix followed by a copy of at most K entries.
+// Not thread-safe; SuggestionService guards it with a read/write lock.
+public class SuggestionTrie {
+    
+    private static final Suggestion[] EMPTY = new Suggestion[0];
+    
+    private final int topK;
+    private final Node root = new Node("");
+    private int size;
+    
+    public SuggestionTrie(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be positive");
+        }
+        this.topK = topK;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void insert(String key, Suggestion suggestion) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int position = 0;
+        
+        while (position < key.length()) {
+            char next = key.charAt(position);
+            Node child = node.children.get(next);
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(next, child);
+                path.add(child);
+                node = child;
+                position = key.length();
+                break;
+            }
+            
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                // Split the edge: the shared part becomes a new inner node above the old child
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(next, middle);
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            position += common;
+        }
+        
+        for (Suggestion existing : node.terminals) {
+            if (existing.sameItem(suggestion)) {
+                return;
+            }
+        }
+        node.terminals.add(suggestion);
+        size++;
+        for (Node onPath : path) {
+            onPath.offer(suggestion, topK);
+        }
+    }
+    
+    public void remove(String key, Suggestion suggestion) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int position = 0;
+        
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return;
+            }
+            path.add(child);
+            node = child;
+            position += child.label.length();
+        }
+        
+        if (!node.terminals.removeIf(existing -> existing.sameItem(suggestion))) {
+            return;
+        }
+        size--;
+        
+        // Recompute caches bottom-up and compact nodes that became empty or single-child pass-throughs
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0) {
+                Node parent = path.get(i - 1);
+                if (current.terminals.isEmpty() && current.children.isEmpty()) {
+                    parent.children.remove(current.label.charAt(0));
+                    continue;
+                }
+                if (current.terminals.isEmpty() && current.children.size() == 1) {
+                    Node only = current.children.values().iterator().next();
+                    only.label = current.label + only.label;
+                    parent.children.put(only.label.charAt(0), only);
+                    continue;
+                }
+            }
+            current.recompute(topK);
+        }
+    }
+    
+    public List<Suggestion> complete(String prefix, int limit) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int remaining = prefix.length() - position;
+            if (remaining <= child.label.length()) {
+                if (!child.label.startsWith(prefix.substring(position))) {
+                    return Collections.emptyList();
+                }
+                node = child;
+                break;
+            }
+            if (!prefix.startsWith(child.label, position)) {
+                return Collections.emptyList();
+            }
+            node = child;
+            position += child.label.length();
+        }
+        
+        int count = Math.min(limit, node.top.length);
+        List<Suggestion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(node.top[i]);
+        }
+        return result;
+    }
+    
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static final class Node {
+        
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+        private Suggestion[] top = EMPTY;
+        
+        private Node(String label) {
+            this.label = label;
+        }
+        
+        private void offer(Suggestion suggestion, int topK) {
+            for (Suggestion existing : top) {
+                if (existing.sameItem(suggestion)) {
+                    // The same item reached through another key; keep the better-ranked entry
+                    if (suggestion.rankAgainst(existing) < 0) {
+                        recomputeWith(suggestion, topK);
+                    }
+                    return;
+                }
+            }
+            if (top.length == topK && suggestion.rankAgainst(top[topK - 1]) >= 0) {
+                return;
+            }
+            int length = Math.min(top.length + 1, topK);
+            Suggestion[] merged = new Suggestion[length];
+            int source = 0;
+            boolean placed = false;
+            for (int target = 0; target < length; target++) {
+                if (!placed && (source == top.length || suggestion.rankAgainst(top[source]) < 0)) {
+                    merged[target] = suggestion;
+                    placed = true;
+                } else {
+                    merged[target] = top[source++];
+                }
+            }
+            top = merged;
+        }
+        
+        private void recomputeWith(Suggestion extra, int topK) {
+            List<Suggestion> candidates = new ArrayList<>(top.length + 1);
+            Collections.addAll(candidates, top);
+            candidates.add(extra);
+            top = best(candidates, topK);
+        }
+        
+        private void recompute(int topK) {
+            List<Suggestion> candidates = new ArrayList<>(terminals);
+            for (Node child : children.values()) {
+                Collections.addAll(candidates, child.top);
+            }
+            top = best(candidates, topK);
+        }
+        
+        private static Suggestion[] best(List<Suggestion> candidates, int topK) {
+            candidates.sort(Suggestion::rankAgainst);
+            List<Suggestion> distinct = new ArrayList<>(topK);
+            for (Suggestion candidate : candidates) {
+                if (distinct.size() == topK) {
+                    break;
+                }
+                boolean duplicate = false;
+                for (Suggestion kept : distinct) {
+                    if (kept.sameItem(candidate)) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (!duplicate) {
+                    distinct.add(candidate);
+                }
+            }
+            return distinct.toArray(EMPTY);
+        }
+    }
+}
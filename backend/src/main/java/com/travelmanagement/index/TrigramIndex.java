@@ -0,0 +1,206 @@
+package com.travelmanagement.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Typo-tolerant word index: query words are matched against the vocabulary by shared trigrams,
+// candidates are verified with a bounded edit distance, and documents must match every query word.
+// Not thread-safe; FuzzySearchService guards it with a read/write lock.
+public class TrigramIndex {
+    
+    private final Map<String, Term> terms = new HashMap<>();
+    private final Map<String, Set<Term>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+    
+    public int size() {
+        return documents.size();
+    }
+    
+    public void put(Long id, String text) {
+        remove(id);
+        Set<String> words = words(text);
+        if (words.isEmpty()) {
+            return;
+        }
+        for (String word : words) {
+            terms.computeIfAbsent(word, this::addTerm).ids.add(id);
+        }
+        documents.put(id, words);
+    }
+    
+    public void remove(Long id) {
+        Set<String> words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Term term = terms.get(word);
+            term.ids.remove(id);
+            if (term.ids.isEmpty()) {
+                terms.remove(word);
+                for (String gram : trigrams(word)) {
+                    Set<Term> posting = postings.get(gram);
+                    posting.remove(term);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+    
+    // Ids of documents containing a close match for every query word, closest total distance first
+    public List<Long> search(String query, int limit) {
+        Set<String> words = words(query);
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Map<Long, Integer> distances = null;
+        for (String word : words) {
+            Map<Long, Integer> wordDistances = new HashMap<>();
+            for (Map.Entry<Term, Integer> match : matchTerms(word).entrySet()) {
+                for (Long id : match.getKey().ids) {
+                    wordDistances.merge(id, match.getValue(), Math::min);
+                }
+            }
+            if (distances == null) {
+                distances = wordDistances;
+            } else {
+                distances.keySet().retainAll(wordDistances.keySet());
+                distances.replaceAll((id, distance) -> distance + wordDistances.get(id));
+            }
+            if (distances.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(distances.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            result.add(ranked.get(i).getKey());
+        }
+        return result;
+    }
+    
+    private Map<Term, Integer> matchTerms(String word) {
+        int maxEdits = maxEdits(word.length());
+        Map<Term, Integer> matches = new HashMap<>();
+        if (maxEdits == 0) {
+            Term exact = terms.get(word);
+            if (exact != null) {
+                matches.put(exact, 0);
+            }
+            return matches;
+        }
+        
+        // A substitution, insertion or deletion touches at most three padded trigrams and an
+        // adjacent transposition four, so a term within maxEdits must share at least
+        // grams - 4 * maxEdits of them with the query word
+        List<String> grams = trigrams(word);
+        int required = Math.max(1, grams.size() - 4 * maxEdits);
+        Map<Term, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<Term> posting = postings.get(gram);
+            if (posting != null) {
+                for (Term term : posting) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<Term, Integer> candidate : shared.entrySet()) {
+            String text = candidate.getKey().text;
+            if (candidate.getValue() < required || Math.abs(text.length() - word.length()) > maxEdits) {
+                continue;
+            }
+            int distance = boundedDistance(word, text, maxEdits);
+            if (distance <= maxEdits) {
+                matches.put(candidate.getKey(), distance);
+            }
+        }
+        return matches;
+    }
+    
+    private Term addTerm(String word) {
+        Term term = new Term(word);
+        for (String gram : trigrams(word)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+        }
+        return term;
+    }
+    
+    // Short words get fewer edits so "rome" does not match half the vocabulary
+    private static int maxEdits(int length) {
+        if (length < 3) {
+            return 0;
+        }
+        return length < 6 ? 1 : 2;
+    }
+    
+    private static Set<String> words(String text) {
+        String normalized = TextNormalizer.normalize(text);
+        Set<String> words = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            Collections.addAll(words, normalized.split(" "));
+        }
+        return words;
+    }
+    
+    private static List<String> trigrams(String word) {
+        String padded = "$$" + word + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+    
+    // Optimal string alignment distance (adjacent transpositions count as one edit), abandoning
+    // the row scan as soon as every cell exceeds the bound
+    private static int boundedDistance(String a, String b, int bound) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+    
+    private static final class Term {
+        
+        private final String text;
+        private final Set<Long> ids = new HashSet<>(2);
+        
+        private Term(String text) {
+            this.text = text;
+        }
+    }
+}
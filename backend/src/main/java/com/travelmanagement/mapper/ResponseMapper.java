@@ -0,0 +1,35 @@
+package com.travelmanagement.mapper;
+
+import com.travelmanagement.dto.BookingResponse;
+import com.travelmanagement.dto.DestinationResponse;
+import com.travelmanagement.dto.TravelPackageResponse;
+import com.travelmanagement.dto.UserResponse;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.entity.User;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+// Entity to response conversion, generated at compile time as plain getter calls. Controllers map
+// before the response is written, so Jackson only ever sees immutable records: no lazy proxies, no
+// back-references and no reflection over entity classes. Every record component has to be mapped,
+// so a field added to a response without a source fails the build.
+@Mapper
+public interface ResponseMapper {
+    
+    UserResponse toResponse(User user);
+    
+    DestinationResponse toResponse(Destination destination);
+    
+    TravelPackageResponse toResponse(TravelPackage travelPackage);
+    
+    BookingResponse toResponse(Booking booking);
+    
+    List<DestinationResponse> toDestinationResponses(List<Destination> destinations);
+    
+    List<TravelPackageResponse> toPackageResponses(List<TravelPackage> packages);
+    
+    List<BookingResponse> toBookingResponses(List<Booking> bookings);
+}
@@ -1,13 +1,21 @@
 package com.travelmanagement.repository;
 
+import com.travelmanagement.dto.ArchivedBooking;
 import com.travelmanagement.entity.Booking;
 import com.travelmanagement.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +28,19 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     Optional<Booking> findByBookingReference(String bookingReference);
     
+    // The associations a serialized booking includes, fetched in the same query
+    @EntityGraph(attributePaths = {"user", "travelPackage", "travelPackage.destination"})
+    List<Booking> findByIdIn(Collection<Long> ids);
+    
+    // The report queries fetch what a serialized booking includes, since they run on a bulkhead
+    // thread whose persistence context is closed before the response is written
+    @EntityGraph(attributePaths = {"user", "travelPackage", "travelPackage.destination"})
     List<Booking> findByBookingStatus(Booking.BookingStatus bookingStatus);
     
+    @EntityGraph(attributePaths = {"user", "travelPackage", "travelPackage.destination"})
     List<Booking> findByPaymentStatus(Booking.PaymentStatus paymentStatus);
     
+    @EntityGraph(attributePaths = {"user", "travelPackage", "travelPackage.destination"})
     @Query("SELECT b FROM Booking b WHERE b.bookingDate BETWEEN :startDate AND :endDate")
     List<Booking> findByBookingDateRange(@Param("startDate") LocalDateTime startDate, 
                                         @Param("endDate") LocalDateTime endDate);
@@ -31,7 +48,97 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.travelPackage.id = :packageId AND b.bookingStatus = 'CONFIRMED'")
     Long countConfirmedBookingsByPackageId(@Param("packageId") Long packageId);
     
+    @Query("SELECT b.travelPackage.id, COUNT(b) FROM Booking b WHERE b.bookingStatus = 'CONFIRMED' " +
+           "GROUP BY b.travelPackage.id")
+    List<Object[]> countConfirmedBookingsGroupedByPackage();
+    
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.travelPackage.destination.id = :destinationId " +
+           "AND b.bookingStatus = 'CONFIRMED'")
+    Long countConfirmedBookingsByDestinationId(@Param("destinationId") Long destinationId);
+    
+    // Seats taken on each package: a pending booking keeps its seats until it is paid, cancelled or expired
+    @Query("SELECT b.travelPackage.id, SUM(b.numberOfParticipants) FROM Booking b " +
+           "WHERE b.travelPackage.id IN :packageIds AND b.bookingStatus IN ('PENDING', 'CONFIRMED') " +
+           "GROUP BY b.travelPackage.id")
+    List<Object[]> sumReservedParticipantsByPackageIds(@Param("packageIds") Collection<Long> packageIds);
+    
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.bookingStatus = 'CONFIRMED'")
     List<Booking> findConfirmedBookingsByUserId(@Param("userId") Long userId);
     
+    // Locked so the status read here still holds when the chunk's updates run
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.bookingReference AS bookingReference, b.bookingStatus AS bookingStatus " +
+           "FROM Booking b WHERE b.bookingReference IN :references")
+    List<BookingKey> findKeysByBookingReferencesForUpdate(@Param("references") Collection<String> references);
+    
+    @Query("SELECT DISTINCT b.travelPackage.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findPackageIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    // Bookings that go with their packages when those are deleted through the cascade
+    @Query("SELECT b.id FROM Booking b WHERE b.travelPackage.id IN :packageIds")
+    List<Long> findIdsByPackageIds(@Param("packageIds") Collection<Long> packageIds);
+    
+    // By primary key, for rows the caller has already locked and checked
+    @Modifying
+    @Query("UPDATE Booking b SET b.paymentStatus = :status, b.updatedAt = :now WHERE b.id IN :ids")
+    int updatePaymentStatusByIds(@Param("ids") Collection<Long> ids,
+                                 @Param("status") Booking.PaymentStatus status,
+                                 @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Booking b SET b.paymentStatus = :paymentStatus, b.bookingStatus = :bookingStatus, b.updatedAt = :now " +
+           "WHERE b.id IN :ids")
+    int updateStatusesByIds(@Param("ids") Collection<Long> ids,
+                            @Param("paymentStatus") Booking.PaymentStatus paymentStatus,
+                            @Param("bookingStatus") Booking.BookingStatus bookingStatus,
+                            @Param("now") LocalDateTime now);
+    
+    @Query("SELECT b.id FROM Booking b WHERE b.bookingStatus = :status AND b.paymentStatus = :paymentStatus " +
+           "AND b.bookingDate < :cutoff AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsByStatusBookedBefore(@Param("status") Booking.BookingStatus status,
+                                           @Param("paymentStatus") Booking.PaymentStatus paymentStatus,
+                                           @Param("cutoff") LocalDateTime cutoff,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+    
+    @Query("SELECT MIN(b.bookingDate) FROM Booking b WHERE b.bookingStatus = :status " +
+           "AND b.paymentStatus = :paymentStatus AND b.bookingDate < :cutoff")
+    LocalDateTime findOldestBookingDateByStatusBefore(@Param("status") Booking.BookingStatus status,
+                                                      @Param("paymentStatus") Booking.PaymentStatus paymentStatus,
+                                                      @Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("UPDATE Booking b SET b.bookingStatus = :to, b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.bookingStatus = :from AND b.paymentStatus = :paymentStatus")
+    int updateBookingStatusByIds(@Param("ids") Collection<Long> ids,
+                                 @Param("from") Booking.BookingStatus from,
+                                 @Param("to") Booking.BookingStatus to,
+                                 @Param("paymentStatus") Booking.PaymentStatus paymentStatus,
+                                 @Param("now") LocalDateTime now);
+    
+    // Oldest first, so each archived chunk covers a short stretch of booking dates; keyset on
+    // (bookingDate, id) so rows that stay behind are not read again in the same pass
+    @Query("SELECT new com.travelmanagement.dto.ArchivedBooking(b.id, b.user.id, b.travelPackage.id, " +
+           "b.numberOfParticipants, b.totalPrice, b.currency, b.bookingStatus, b.paymentStatus, b.specialRequests, " +
+           "b.bookingReference, b.bookingDate, b.createdAt, b.updatedAt) FROM Booking b " +
+           "WHERE b.bookingDate < :cutoff AND b.travelPackage.endDate < :today " +
+           "AND (b.bookingDate > :afterDate OR (b.bookingDate = :afterDate AND b.id > :afterId)) " +
+           "ORDER BY b.bookingDate, b.id")
+    List<ArchivedBooking> findArchivable(@Param("cutoff") LocalDateTime cutoff,
+                                         @Param("today") LocalDate today,
+                                         @Param("afterDate") LocalDateTime afterDate,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+    
+    // Rows written to since they were read for archiving stay, and are archived again on a later pass
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids AND (b.updatedAt IS NULL OR b.updatedAt < :readAt)")
+    int deleteArchived(@Param("ids") Collection<Long> ids, @Param("readAt") LocalDateTime readAt);
+    
+    interface BookingKey {
+        Long getId();
+        String getBookingReference();
+        Booking.BookingStatus getBookingStatus();
+    }
+
 }
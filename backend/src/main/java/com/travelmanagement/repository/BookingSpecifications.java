@@ -0,0 +1,33 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.Booking;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Criteria versions of the BookingRepository list queries, for the sparse fieldset endpoints
+public final class BookingSpecifications {
+    
+    private BookingSpecifications() {
+    }
+    
+    public static Specification<Booking> byUser(Long userId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("user").get("id"), userId);
+    }
+    
+    public static Specification<Booking> confirmedByUser(Long userId) {
+        return byUser(userId).and(byStatus(Booking.BookingStatus.CONFIRMED));
+    }
+    
+    public static Specification<Booking> byStatus(Booking.BookingStatus status) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("bookingStatus"), status);
+    }
+    
+    public static Specification<Booking> byPaymentStatus(Booking.PaymentStatus status) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("paymentStatus"), status);
+    }
+    
+    public static Specification<Booking> bookedBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.between(root.<LocalDateTime>get("bookingDate"), startDate, endDate);
+    }
+}
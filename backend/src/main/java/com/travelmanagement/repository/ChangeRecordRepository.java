@@ -0,0 +1,30 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.ChangeRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeRecordRepository extends JpaRepository<ChangeRecord, Long> {
+    
+    List<ChangeRecord> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable pageable);
+    
+    @Query("SELECT MIN(c.sequence) FROM ChangeRecord c")
+    Long findMinSequence();
+    
+    @Query("SELECT MAX(c.sequence) FROM ChangeRecord c WHERE c.createdAt < :cutoff")
+    Long findMaxSequenceCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // Purges a prefix of the feed, so the retained sequence numbers stay contiguous
+    @Modifying
+    @Query(value = "DELETE FROM change_outbox WHERE sequence_number <= :upTo ORDER BY sequence_number LIMIT :limit",
+           nativeQuery = true)
+    int deleteSequencedUpTo(@Param("upTo") Long upTo, @Param("limit") int limit);
+}
@@ -0,0 +1,10 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.DestinationDetails;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DestinationDetailsRepository extends JpaRepository<DestinationDetails, Long> {
+
+}
@@ -2,17 +2,21 @@ package com.travelmanagement.repository;
 
 import com.travelmanagement.entity.Destination;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface DestinationRepository extends JpaRepository<Destination, Long> {
+public interface DestinationRepository extends JpaRepository<Destination, Long>, JpaSpecificationExecutor<Destination> {
     
     List<Destination> findByIsActiveTrue();
     
+    Optional<Destination> findByName(String name);
+    
     List<Destination> findByIsFeaturedTrueAndIsActiveTrue();
     
     List<Destination> findByCountry(String country);
@@ -25,7 +29,4 @@ public interface DestinationRepository extends JpaRepository<Destination, Long>
            "LOWER(d.city) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Destination> searchDestinations(@Param("searchTerm") String searchTerm);
     
-    @Query("SELECT d FROM Destination d WHERE d.price BETWEEN :minPrice AND :maxPrice AND d.isActive = true")
-    List<Destination> findByPriceRange(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice);
-    
 }
@@ -0,0 +1,58 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.Destination;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Criteria versions of the DestinationRepository list queries, for the sparse fieldset endpoints
+public final class DestinationSpecifications {
+    
+    private DestinationSpecifications() {
+    }
+    
+    public static Specification<Destination> active() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.<Boolean>get("isActive"));
+    }
+    
+    public static Specification<Destination> featured() {
+        return active().and((root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.<Boolean>get("isFeatured")));
+    }
+    
+    public static Specification<Destination> byCountry(String country) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("country"), country);
+    }
+    
+    public static Specification<Destination> byCity(String city) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("city"), city);
+    }
+    
+    public static Specification<Destination> search(String searchTerm) {
+        return (root, query, criteriaBuilder) -> {
+            String pattern = "%" + searchTerm.toLowerCase() + "%";
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(root.<String>get("name")), pattern),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.<String>get("country")), pattern),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.<String>get("city")), pattern));
+        };
+    }
+    
+    public static Specification<Destination> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+    
+    // Bounds are given per currency code ({min, max} in that currency), as from CurrencyService.boundsByCurrency
+    public static Specification<Destination> priceWithin(Map<String, double[]> boundsByCurrency) {
+        return active().and((root, query, criteriaBuilder) -> {
+            List<Predicate> ranges = new ArrayList<>(boundsByCurrency.size());
+            boundsByCurrency.forEach((currency, bounds) -> ranges.add(criteriaBuilder.and(
+                    criteriaBuilder.equal(criteriaBuilder.upper(criteriaBuilder.trim(root.<String>get("currency"))), currency),
+                    criteriaBuilder.between(root.<Double>get("price"), bounds[0], bounds[1]))));
+            return criteriaBuilder.or(ranges.toArray(new Predicate[0]));
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.TravelPackageDetails;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TravelPackageDetailsRepository extends JpaRepository<TravelPackageDetails, Long> {
+
+}
@@ -1,40 +1,68 @@
 package com.travelmanagement.repository;
 
 import com.travelmanagement.entity.TravelPackage;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TravelPackageRepository extends JpaRepository<TravelPackage, Long> {
+public interface TravelPackageRepository extends JpaRepository<TravelPackage, Long>, JpaSpecificationExecutor<TravelPackage> {
     
+    // The list finders fetch the destination with the package in the same query: list results are
+    // serialized with it, which would otherwise be one lazy load per row
+    @EntityGraph(attributePaths = "destination")
     List<TravelPackage> findByIsActiveTrue();
     
+    @EntityGraph(attributePaths = "destination")
     List<TravelPackage> findByIsFeaturedTrueAndIsActiveTrue();
     
+    @EntityGraph(attributePaths = "destination")
     List<TravelPackage> findByDestinationId(Long destinationId);
     
+    @EntityGraph(attributePaths = "destination")
+    List<TravelPackage> findByIdIn(Collection<Long> ids);
+    
+    @Override
+    @EntityGraph(attributePaths = "destination")
+    List<TravelPackage> findAll(Specification<TravelPackage> specification);
+    
+    List<TravelPackage> findByDestinationIdInAndIsActiveTrue(Collection<Long> destinationIds);
+    
+    @EntityGraph(attributePaths = "destination")
     List<TravelPackage> findByPackageType(TravelPackage.PackageType packageType);
     
+    @EntityGraph(attributePaths = "destination")
     @Query("SELECT tp FROM TravelPackage tp WHERE tp.startDate >= :startDate AND tp.isActive = true")
     List<TravelPackage> findAvailablePackages(@Param("startDate") LocalDate startDate);
     
-    @Query("SELECT tp FROM TravelPackage tp WHERE " +
-           "tp.price BETWEEN :minPrice AND :maxPrice AND tp.isActive = true")
-    List<TravelPackage> findByPriceRange(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice);
-    
+    @EntityGraph(attributePaths = "destination")
     @Query("SELECT tp FROM TravelPackage tp WHERE " +
            "LOWER(tp.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(tp.destination.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(tp.destination.country) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<TravelPackage> searchPackages(@Param("searchTerm") String searchTerm);
     
+    @EntityGraph(attributePaths = "destination")
     @Query("SELECT tp FROM TravelPackage tp WHERE " +
            "tp.currentParticipants < tp.maxParticipants AND tp.isActive = true")
     List<TravelPackage> findAvailablePackagesWithSpace();
     
+    @Query("SELECT tp.id, tp.maxParticipants FROM TravelPackage tp WHERE tp.id IN :ids")
+    List<Object[]> findMaxParticipantsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tp FROM TravelPackage tp WHERE tp.id = :id")
+    Optional<TravelPackage> findByIdForUpdate(@Param("id") Long id);
+    
 }
@@ -0,0 +1,69 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.TravelPackage;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Criteria versions of the TravelPackageRepository list queries, for the sparse fieldset endpoints
+public final class TravelPackageSpecifications {
+    
+    private TravelPackageSpecifications() {
+    }
+    
+    public static Specification<TravelPackage> active() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.<Boolean>get("isActive"));
+    }
+    
+    public static Specification<TravelPackage> featured() {
+        return active().and((root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.<Boolean>get("isFeatured")));
+    }
+    
+    public static Specification<TravelPackage> byDestination(Long destinationId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("destination").get("id"), destinationId);
+    }
+    
+    public static Specification<TravelPackage> byType(TravelPackage.PackageType packageType) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("packageType"), packageType);
+    }
+    
+    public static Specification<TravelPackage> startingFrom(LocalDate startDate) {
+        return active().and((root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThanOrEqualTo(root.<LocalDate>get("startDate"), startDate));
+    }
+    
+    public static Specification<TravelPackage> withSpace() {
+        return active().and((root, query, criteriaBuilder) ->
+                criteriaBuilder.lessThan(root.<Integer>get("currentParticipants"), root.<Integer>get("maxParticipants")));
+    }
+    
+    public static Specification<TravelPackage> search(String searchTerm) {
+        return (root, query, criteriaBuilder) -> {
+            String pattern = "%" + searchTerm.toLowerCase() + "%";
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(root.<String>get("name")), pattern),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("destination").<String>get("name")), pattern),
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("destination").<String>get("country")), pattern));
+        };
+    }
+    
+    public static Specification<TravelPackage> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+    
+    // Bounds are given per currency code ({min, max} in that currency), as from CurrencyService.boundsByCurrency
+    public static Specification<TravelPackage> priceWithin(Map<String, double[]> boundsByCurrency) {
+        return active().and((root, query, criteriaBuilder) -> {
+            List<Predicate> ranges = new ArrayList<>(boundsByCurrency.size());
+            boundsByCurrency.forEach((currency, bounds) -> ranges.add(criteriaBuilder.and(
+                    criteriaBuilder.equal(criteriaBuilder.upper(criteriaBuilder.trim(root.<String>get("currency"))), currency),
+                    criteriaBuilder.between(root.<Double>get("price"), bounds[0], bounds[1]))));
+            return criteriaBuilder.or(ranges.toArray(new Predicate[0]));
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.travelmanagement.scheduler;
+
+import com.travelmanagement.dto.ArchivedBooking;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.service.BookingArchiveStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Moves bookings older than the retention window, whose trip has ended, from the bookings table
+// into the BookingArchiveStore, oldest first. Each chunk is written to the archive and forced to
+// disk before it is deleted from the table, so a crash in between leaves a booking in both places
+// (readers prefer the table) rather than in neither. Bookings of trips that have not ended stay
+// so seat counts are unaffected.
+// Off by default, and the store refuses to start without an absolute archive directory. Only one
+// instance archives at a time: a pass first takes a lease on the booking_archive_state row and
+// renews it before every chunk, stopping as soon as another instance holds it. The lease is a
+// conditional update of that row, so it costs no long transaction and survives a crashed holder by
+// simply running out.
+@Component
+@Slf4j
+public class BookingArchiveJob {
+    
+    private static final LocalDateTime START = LocalDateTime.of(1000, 1, 1, 0, 0);
+    
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveStore bookingArchiveStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+    private final Timer runTimer;
+    private final String instanceId = UUID.randomUUID().toString();
+    
+    @Value("${travel.bookings.archive.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${travel.bookings.archive.lease:PT10M}")
+    private Duration lease;
+    
+    @Value("${travel.bookings.archive.retention:P730D}")
+    private Duration retention;
+    
+    @Value("${travel.bookings.archive.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${travel.bookings.archive.pause-ms:100}")
+    private long pauseMs;
+    
+    public BookingArchiveJob(BookingRepository bookingRepository,
+                             BookingArchiveStore bookingArchiveStore,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveStore = bookingArchiveStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = Counter.builder("bookings.archive.archived")
+                .description("Bookings moved from the bookings table to the archive")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("bookings.archive.run")
+                .description("Duration of one archive pass")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${travel.bookings.archive.interval-ms:3600000}",
+               initialDelayString = "${travel.bookings.archive.interval-ms:3600000}")
+    public void archiveOldBookings() {
+        if (enabled && renewLease()) {
+            try {
+                runTimer.record(this::runArchivePass);
+            } finally {
+                releaseLease();
+            }
+        }
+    }
+    
+    private void runArchivePass() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        LocalDate today = LocalDate.now();
+        LocalDateTime afterDate = START;
+        long afterId = 0L;
+        int total = 0;
+        
+        while (true) {
+            if (afterId > 0L && !renewLease()) {
+                log.warn("Archive lease lost to another instance; stopping this pass");
+                break;
+            }
+            LocalDateTime readAt = LocalDateTime.now();
+            List<ArchivedBooking> bookings = bookingRepository.findArchivable(cutoff, today, afterDate, afterId,
+                    PageRequest.of(0, chunkSize));
+            if (bookings.isEmpty()) {
+                break;
+            }
+            
+            bookingArchiveStore.append(bookings);
+            List<Long> ids = bookings.stream().map(ArchivedBooking::getId).toList();
+            Integer deleted = transactionTemplate.execute(status -> bookingRepository.deleteArchived(ids, readAt));
+            total += deleted;
+            archivedCounter.increment(deleted);
+            
+            ArchivedBooking last = bookings.get(bookings.size() - 1);
+            afterDate = last.getBookingDate();
+            afterId = last.getId();
+            if (bookings.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        
+        if (total > 0) {
+            log.info("Archived {} bookings booked before {}", total, cutoff);
+        }
+    }
+    
+    // Takes the lease when it is free, expired or already ours, and extends it. Times come from the
+    // database clock so instances with skewed clocks agree on when a lease runs out.
+    private boolean renewLease() {
+        int updated = jdbcTemplate.update("UPDATE booking_archive_state SET locked_by = ?, "
+                        + "locked_until = NOW(6) + INTERVAL ? SECOND WHERE id = 1 "
+                        + "AND (locked_by = ? OR locked_until IS NULL OR locked_until < NOW(6))",
+                instanceId, lease.toSeconds(), instanceId);
+        return updated == 1;
+    }
+    
+    private void releaseLease() {
+        jdbcTemplate.update("UPDATE booking_archive_state SET locked_until = NULL WHERE id = 1 AND locked_by = ?",
+                instanceId);
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
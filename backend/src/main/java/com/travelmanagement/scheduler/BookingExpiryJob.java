@@ -0,0 +1,130 @@
+package com.travelmanagement.scheduler;
+
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.event.BookingChangeEvent;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.service.ChangeOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class BookingExpiryJob {
+    
+    private final BookingRepository bookingRepository;
+    private final ChangeOutboxService changeOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredCounter;
+    private final Timer runTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    
+    @Value("${travel.bookings.expiry.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${travel.bookings.pending-ttl:PT30M}")
+    private Duration pendingTtl;
+    
+    @Value("${travel.bookings.expiry.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${travel.bookings.expiry.pause-ms:100}")
+    private long pauseMs;
+    
+    public BookingExpiryJob(BookingRepository bookingRepository,
+                            ChangeOutboxService changeOutboxService,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.changeOutboxService = changeOutboxService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredCounter = Counter.builder("bookings.expiry.cancelled")
+                .description("Unpaid pending bookings cancelled by the expiry job")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("bookings.expiry.run")
+                .description("Duration of one expiry pass")
+                .register(meterRegistry);
+        meterRegistry.gauge("bookings.expiry.lag.seconds", lagSeconds);
+    }
+    
+    @Scheduled(fixedDelayString = "${travel.bookings.expiry.interval-ms:60000}",
+               initialDelayString = "${travel.bookings.expiry.interval-ms:60000}")
+    public void expireStalePendingBookings() {
+        if (!enabled) {
+            return;
+        }
+        runTimer.record(this::runExpiryPass);
+    }
+    
+    private void runExpiryPass() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTtl);
+        long afterId = 0L;
+        int total = 0;
+        
+        // Keyset pagination on the primary key keeps every chunk an index range scan, and each
+        // chunk commits on its own so row locks are only held for one small UPDATE at a time
+        while (true) {
+            List<Long> ids = bookingRepository.findIdsByStatusBookedBefore(Booking.BookingStatus.PENDING,
+                    Booking.PaymentStatus.PENDING, cutoff, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            
+            // The status predicates are re-checked in the UPDATE so a payment landing between
+            // the SELECT and the UPDATE is never overwritten
+            Integer cancelled = transactionTemplate.execute(status -> {
+                int updated = bookingRepository.updateBookingStatusByIds(ids,
+                        Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED,
+                        Booking.PaymentStatus.PENDING, LocalDateTime.now());
+                // Ids that lost the race to a payment were changed by it anyway, so all are recorded
+                if (updated > 0) {
+                    changeOutboxService.recordBookingsChanged(ids);
+                    // Pending bookings hold seats, so cancelling them frees capacity
+                    eventPublisher.publishEvent(new BookingChangeEvent(bookingRepository.findPackageIdsByIds(ids)));
+                }
+                return updated;
+            });
+            total += cancelled;
+            expiredCounter.increment(cancelled);
+            
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        
+        LocalDateTime oldest = bookingRepository.findOldestBookingDateByStatusBefore(Booking.BookingStatus.PENDING,
+                Booking.PaymentStatus.PENDING, cutoff);
+        lagSeconds.set(oldest == null ? 0L : Duration.between(oldest, cutoff).getSeconds());
+        
+        if (total > 0) {
+            log.info("Cancelled {} unpaid bookings older than {}", total, pendingTtl);
+        }
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
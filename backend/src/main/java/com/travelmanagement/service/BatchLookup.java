@@ -0,0 +1,30 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.BatchResult;
+import com.travelmanagement.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+// Resolves a client-supplied id list with a single IN query instead of one request and one SELECT
+// per id. Repeated ids are queried once; the result keeps request order and reports misses.
+@Component
+public class BatchLookup {
+    
+    @Value("${travel.batch.max-ids:100}")
+    private int maxIds;
+    
+    public <T> BatchResult<T> resolve(List<Long> ids, Function<Collection<Long>, List<T>> finder, Function<T, Long> idOf) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxIds || ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Between 1 and " + maxIds + " ids are required");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        return BatchResult.inRequestOrder(ids, finder.apply(distinct), idOf);
+    }
+}
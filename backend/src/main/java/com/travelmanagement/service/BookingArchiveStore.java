@@ -0,0 +1,341 @@
+package com.travelmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelmanagement.dto.ArchivedBooking;
+import com.travelmanagement.index.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Cold storage for bookings moved out of the bookings table. Bookings are partitioned by the month
+// of their booking date into one append-only segment file per month (bookings-2024-03.seg), made
+// of independently gzipped blocks of JSON lines sorted by booking date. Each segment has an
+// append-only index file with one line per block: its offset and length, row count, booking date
+// range and a Bloom filter of its references. That sparse index is kept in memory, so a date-range
+// read only decompresses the blocks overlapping the range and a reference lookup only the blocks
+// whose filter matches (about 1% false positives). A block is written and forced to disk before its
+// index line; a torn block without an index line is never read.
+// The directory must be an existing absolute path on durable storage shared by every instance, since
+// bookings live only here once deleted from the table. Index lines appended by the instance running
+// BookingArchiveJob are picked up by the others before each read.
+@Service
+@Slf4j
+public class BookingArchiveStore {
+    
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    
+    private final ObjectMapper objectMapper;
+    private final String location;
+    private final boolean archivingEnabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Null when no directory is configured: the archive is then empty and cannot be written
+    private Path directory;
+    
+    // Guarded by lock
+    private final NavigableMap<YearMonth, List<Block>> blocksByMonth = new TreeMap<>();
+    // Bytes of each index file already read into blocksByMonth; guarded by lock
+    private final Map<YearMonth, Long> indexedBytes = new HashMap<>();
+    
+    public BookingArchiveStore(ObjectMapper objectMapper,
+                               @Value("${travel.bookings.archive.directory:}") String location,
+                               @Value("${travel.bookings.archive.enabled:false}") boolean archivingEnabled) {
+        this.objectMapper = objectMapper;
+        this.location = location;
+        this.archivingEnabled = archivingEnabled;
+    }
+    
+    @PostConstruct
+    public void load() throws IOException {
+        if (location.isBlank()) {
+            if (archivingEnabled) {
+                throw new IllegalStateException("travel.bookings.archive.directory must be set to enable archiving");
+            }
+            return;
+        }
+        Path path = Path.of(location);
+        // A relative or missing directory would silently become local disk of one instance
+        if (!path.isAbsolute() || !Files.isDirectory(path)) {
+            throw new IllegalStateException("travel.bookings.archive.directory must be an existing absolute path: " + location);
+        }
+        directory = path;
+        if (!isEmpty()) {
+            log.info("Booking archive opened with {} monthly segments", blocksByMonth.size());
+        }
+    }
+    
+    public boolean isEmpty() {
+        refresh();
+        lock.readLock().lock();
+        try {
+            return blocksByMonth.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Appends the bookings as one block per booking month. Called by a single archiver at a time.
+    public void append(List<ArchivedBooking> bookings) {
+        if (directory == null) {
+            throw new IllegalStateException("No booking archive directory is configured");
+        }
+        Map<YearMonth, List<ArchivedBooking>> byMonth = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> YearMonth.from(booking.getBookingDate()), TreeMap::new,
+                        Collectors.toList()));
+        for (Map.Entry<YearMonth, List<ArchivedBooking>> entry : byMonth.entrySet()) {
+            try {
+                appendBlock(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to the booking archive", e);
+            }
+        }
+    }
+    
+    // Newest copy when a booking was archived more than once, e.g. after a crash between the
+    // archive write and the delete from the table
+    public Optional<ArchivedBooking> findByReference(String bookingReference) {
+        refresh();
+        ArchivedBooking found = null;
+        for (Block block : blocks(blocksByMonth)) {
+            if (!block.references().mightContain(bookingReference)) {
+                continue;
+            }
+            // Only lines that mention the reference are parsed
+            String quoted = "\"" + bookingReference + "\"";
+            for (ArchivedBooking booking : read(block, line -> line.contains(quoted))) {
+                if (bookingReference.equals(booking.getBookingReference()) && isNewer(booking, found)) {
+                    found = booking;
+                }
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+    
+    // Bookings with startDate <= bookingDate <= endDate, one copy per id
+    public List<ArchivedBooking> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return List.of();
+        }
+        refresh();
+        Map<Long, ArchivedBooking> byId = new HashMap<>();
+        for (Block block : blocks(blocksByMonth.subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true))) {
+            if (block.maxDate().isBefore(startDate) || block.minDate().isAfter(endDate)) {
+                continue;
+            }
+            for (ArchivedBooking booking : read(block, line -> true)) {
+                LocalDateTime bookingDate = booking.getBookingDate();
+                if (!bookingDate.isBefore(startDate) && !bookingDate.isAfter(endDate)) {
+                    byId.merge(booking.getId(), booking, (kept, other) -> isNewer(other, kept) ? other : kept);
+                }
+            }
+        }
+        List<ArchivedBooking> result = new ArrayList<>(byId.values());
+        result.sort(Comparator.comparing(ArchivedBooking::getBookingDate).thenComparing(ArchivedBooking::getId));
+        return result;
+    }
+    
+    private void appendBlock(YearMonth month, List<ArchivedBooking> bookings) throws IOException {
+        bookings.sort(Comparator.comparing(ArchivedBooking::getBookingDate).thenComparing(ArchivedBooking::getId));
+        BloomFilter references = BloomFilter.withExpectedKeys(bookings.size());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(buffer), StandardCharsets.UTF_8)) {
+            for (ArchivedBooking booking : bookings) {
+                writer.write(objectMapper.writeValueAsString(booking));
+                writer.write('\n');
+                if (booking.getBookingReference() != null) {
+                    references.add(booking.getBookingReference());
+                }
+            }
+        }
+        byte[] compressed = buffer.toByteArray();
+        
+        Path segment = directory.resolve(segmentName(month));
+        long offset;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = channel.size();
+            ByteBuffer bytes = ByteBuffer.wrap(compressed);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes, offset + bytes.position());
+            }
+            channel.force(false);
+        }
+        Block block = new Block(segment, offset, compressed.length, bookings.size(),
+                bookings.get(0).getBookingDate(), bookings.get(bookings.size() - 1).getBookingDate(), references);
+        try (FileChannel channel = FileChannel.open(directory.resolve(indexName(month)), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer line = ByteBuffer.wrap((block.format() + "\n").getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(false);
+        }
+        refresh();
+    }
+    
+    // Reads index lines appended since the last call, by this instance or another one sharing the
+    // directory. A line is only taken once its newline is there, so one still being written is
+    // picked up by a later call.
+    private void refresh() {
+        if (directory == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(directory, "bookings-*" + INDEX_SUFFIX)) {
+            for (Path index : indexes) {
+                YearMonth month = monthOf(index);
+                long read = indexedBytes.getOrDefault(month, 0L);
+                if (Files.size(index) > read) {
+                    indexedBytes.put(month, read + readIndex(index, month, read));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the booking archive index", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Adds the complete lines after position and returns how many bytes they take
+    private int readIndex(Path index, YearMonth month, long position) throws IOException {
+        byte[] tail;
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            tail = new byte[(int) (channel.size() - position)];
+            ByteBuffer bytes = ByteBuffer.wrap(tail);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, position + bytes.position()) < 0) {
+                    throw new IOException("Archive index shrank while it was read: " + index);
+                }
+            }
+        }
+        Path segment = directory.resolve(segmentName(month));
+        int consumed = 0;
+        for (int end = indexOf(tail, consumed); end >= 0; end = indexOf(tail, consumed)) {
+            String line = new String(tail, consumed, end - consumed, StandardCharsets.UTF_8);
+            consumed = end + 1;
+            try {
+                blocksByMonth.computeIfAbsent(month, key -> new ArrayList<>()).add(Block.parse(segment, line));
+            } catch (RuntimeException e) {
+                // A line torn by a crash while it was appended
+                log.warn("Skipping unreadable index line in {}", index);
+            }
+        }
+        return consumed;
+    }
+    
+    private static int indexOf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private List<ArchivedBooking> read(Block block, Predicate<String> lineFilter) {
+        byte[] compressed = new byte[block.length()];
+        try (FileChannel channel = FileChannel.open(block.segment(), StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.wrap(compressed);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, block.offset() + bytes.position()) < 0) {
+                    throw new IOException("Archive block runs past the end of " + block.segment());
+                }
+            }
+            List<ArchivedBooking> bookings = new ArrayList<>(block.count());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (lineFilter.test(line)) {
+                        bookings.add(objectMapper.readValue(line, ArchivedBooking.class));
+                    }
+                }
+            }
+            return bookings;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the booking archive", e);
+        }
+    }
+    
+    // Snapshot of the block lists so files are read without holding the lock
+    private List<Block> blocks(Map<YearMonth, List<Block>> months) {
+        lock.readLock().lock();
+        try {
+            List<Block> blocks = new ArrayList<>();
+            months.values().forEach(blocks::addAll);
+            return blocks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static boolean isNewer(ArchivedBooking booking, ArchivedBooking than) {
+        if (than == null) {
+            return true;
+        }
+        LocalDateTime updatedAt = booking.getUpdatedAt();
+        return updatedAt != null && (than.getUpdatedAt() == null || updatedAt.isAfter(than.getUpdatedAt()));
+    }
+    
+    private static String segmentName(YearMonth month) {
+        return "bookings-" + month + SEGMENT_SUFFIX;
+    }
+    
+    private static String indexName(YearMonth month) {
+        return "bookings-" + month + INDEX_SUFFIX;
+    }
+    
+    private static YearMonth monthOf(Path index) {
+        String name = index.getFileName().toString();
+        return YearMonth.parse(name.substring("bookings-".length(), name.length() - INDEX_SUFFIX.length()));
+    }
+    
+    private record Block(Path segment, long offset, int length, int count,
+                         LocalDateTime minDate, LocalDateTime maxDate, BloomFilter references) {
+        
+        // offset length count minDate maxDate referenceFilter
+        String format() {
+            return offset + " " + length + " " + count + " " + minDate + " " + maxDate + " " + references.encode();
+        }
+        
+        static Block parse(Path segment, String line) {
+            String[] fields = line.split(" ");
+            if (fields.length != 6) {
+                throw new IllegalArgumentException("Malformed archive index line");
+            }
+            return new Block(segment, Long.parseLong(fields[0]), Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                    LocalDateTime.parse(fields[3]), LocalDateTime.parse(fields[4]), BloomFilter.decode(fields[5]));
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package com.travelmanagement.service;
 
+import com.travelmanagement.dto.ArchivedBooking;
+import com.travelmanagement.dto.BatchResult;
+import com.travelmanagement.dto.SeatHold;
 import com.travelmanagement.entity.Booking;
 import com.travelmanagement.entity.TravelPackage;
 import com.travelmanagement.entity.User;
+import com.travelmanagement.event.BookingChangeEvent;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.exception.ConflictException;
+import com.travelmanagement.exception.NoSpaceException;
+import com.travelmanagement.exception.NotFoundException;
 import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.BookingSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +37,12 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final TravelPackageService travelPackageService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutboxService changeOutboxService;
+    private final SparseFieldService sparseFieldService;
+    private final SeatHoldService seatHoldService;
+    private final BookingArchiveStore bookingArchiveStore;
+    private final BatchLookup batchLookup;
     
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
@@ -37,8 +60,17 @@ public class BookingService {
         return bookingRepository.findById(id);
     }
     
+    public BatchResult<Booking> getBookingsInRequestOrder(List<Long> ids) {
+        return batchLookup.resolve(ids, bookingRepository::findByIdIn, Booking::getId);
+    }
+    
+    // Falls back to the archive for bookings moved out of the table by BookingArchiveJob
     public Optional<Booking> getBookingByReference(String bookingReference) {
-        return bookingRepository.findByBookingReference(bookingReference);
+        Optional<Booking> booking = bookingRepository.findByBookingReference(bookingReference);
+        if (booking.isPresent() || bookingArchiveStore.isEmpty()) {
+            return booking;
+        }
+        return bookingArchiveStore.findByReference(bookingReference).map(archived -> restore(List.of(archived)).get(0));
     }
     
     public List<Booking> getBookingsByStatus(Booking.BookingStatus status) {
@@ -49,30 +81,101 @@ public class BookingService {
         return bookingRepository.findByPaymentStatus(status);
     }
     
+    // Archived bookings in the range are appended after the live ones; a booking in both places
+    // (archived but not yet deleted) is returned once, from the table
     public List<Booking> getBookingsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return bookingRepository.findByBookingDateRange(startDate, endDate);
+        List<Booking> bookings = bookingRepository.findByBookingDateRange(startDate, endDate);
+        List<Booking> archived = getArchivedBookings(startDate, endDate,
+                bookings.stream().map(Booking::getId).collect(Collectors.toSet()));
+        if (archived.isEmpty()) {
+            return bookings;
+        }
+        List<Booking> combined = new ArrayList<>(bookings);
+        combined.addAll(archived);
+        return combined;
     }
     
     public List<Booking> getConfirmedBookingsByUser(Long userId) {
         return bookingRepository.findConfirmedBookingsByUserId(userId);
     }
     
+    // Sparse fieldset variants of the list methods above: same filters, only the named fields are read
+    public List<Map<String, Object>> getAllBookingFields(String fields) {
+        return sparseFieldService.find(Booking.class, fields, null);
+    }
+    
+    public List<Map<String, Object>> getBookingFieldsByUser(Long userId, String fields) {
+        return sparseFieldService.find(Booking.class, fields, BookingSpecifications.byUser(userId));
+    }
+    
+    public List<Map<String, Object>> getBookingFieldsByStatus(Booking.BookingStatus status, String fields) {
+        return sparseFieldService.find(Booking.class, fields, BookingSpecifications.byStatus(status));
+    }
+    
+    public List<Map<String, Object>> getBookingFieldsByPaymentStatus(Booking.PaymentStatus status, String fields) {
+        return sparseFieldService.find(Booking.class, fields, BookingSpecifications.byPaymentStatus(status));
+    }
+    
+    // Falls back to the archive like getBookingsByDateRange
+    public List<Map<String, Object>> getBookingFieldsByDateRange(LocalDateTime startDate, LocalDateTime endDate, String fields) {
+        List<Map<String, Object>> rows = sparseFieldService.find(Booking.class, fields,
+                BookingSpecifications.bookedBetween(startDate, endDate));
+        List<Booking> archived = getArchivedBookings(startDate, endDate,
+                rows.stream().map(row -> (Long) row.get("id")).collect(Collectors.toSet()));
+        if (archived.isEmpty()) {
+            return rows;
+        }
+        List<Map<String, Object>> combined = new ArrayList<>(rows);
+        combined.addAll(sparseFieldService.project(Booking.class, fields, archived));
+        return combined;
+    }
+    
+    public List<Map<String, Object>> getConfirmedBookingFieldsByUser(Long userId, String fields) {
+        return sparseFieldService.find(Booking.class, fields, BookingSpecifications.confirmedByUser(userId));
+    }
+    
     public Booking createBooking(Booking booking) {
-        // Validate travel package availability
-        TravelPackage travelPackage = travelPackageService.getPackageById(booking.getTravelPackage().getId())
-                .orElseThrow(() -> new RuntimeException("Travel package not found"));
-        
-        if (!travelPackage.getIsActive()) {
-            throw new RuntimeException("Travel package is not available");
+        if (booking.getTravelPackage() == null || booking.getTravelPackage().getId() == null || booking.getUser() == null
+                || booking.getUser().getId() == null || booking.getNumberOfParticipants() == null
+                || booking.getNumberOfParticipants() < 1) {
+            throw new BadRequestException("A package, a user and at least one participant are required");
         }
+        return createBooking(booking, 0);
+    }
+    
+    // Books the held seats for the hold's user. The hold ends right away so it cannot expire under the
+    // booking, but its seats stay held until this transaction has finished; from then on the pending
+    // booking counts against capacity itself
+    public Booking confirmHold(String holdId, Booking booking) {
+        SeatHold hold = seatHoldService.claim(holdId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                seatHoldService.settle(hold);
+            }
+        });
+        TravelPackage travelPackage = new TravelPackage();
+        travelPackage.setId(hold.getPackageId());
+        User user = new User();
+        user.setId(hold.getUserId());
+        booking.setTravelPackage(travelPackage);
+        booking.setUser(user);
+        booking.setNumberOfParticipants(hold.getSeats());
+        return createBooking(booking, hold.getSeats());
+    }
+    
+    private Booking createBooking(Booking booking, int ownHeldSeats) {
+        // Validate travel package availability; the package stays locked until the booking is committed
+        TravelPackage travelPackage = seatHoldService.lockPackage(booking.getTravelPackage().getId());
         
-        // Check if there's enough space
-        Long confirmedBookings = bookingRepository.countConfirmedBookingsByPackageId(travelPackage.getId());
-        int availableSpace = travelPackage.getMaxParticipants() - confirmedBookings.intValue();
+        // Check if there's enough space; seats held by other checkouts are taken as well
+        int availableSpace = seatHoldService.getAvailableSeats(travelPackage) + ownHeldSeats;
         
         if (booking.getNumberOfParticipants() > availableSpace) {
-            throw new RuntimeException("Not enough space available for this package");
+            throw NoSpaceException.INSTANCE;
         }
+        // The request only carries the package id; a bare reference would fail the package's version check
+        booking.setTravelPackage(travelPackage);
         
         // Calculate total price
         double totalPrice = travelPackage.getPrice() * booking.getNumberOfParticipants();
@@ -81,15 +184,17 @@ public class BookingService {
         
         // Set user
         User user = userService.getUserById(booking.getUser().getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> NotFoundException.USER);
         booking.setUser(user);
         
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved);
+        return saved;
     }
     
     public Booking updateBooking(Long id, Booking bookingDetails) {
         Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.BOOKING);
         
         booking.setNumberOfParticipants(bookingDetails.getNumberOfParticipants());
         booking.setSpecialRequests(bookingDetails.getSpecialRequests());
@@ -100,20 +205,24 @@ public class BookingService {
             booking.setTotalPrice(totalPrice);
         }
         
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved);
+        return saved;
     }
     
     public Booking updateBookingStatus(Long id, Booking.BookingStatus status) {
         Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.BOOKING);
         
         booking.setBookingStatus(status);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved);
+        return saved;
     }
     
     public Booking updatePaymentStatus(Long id, Booking.PaymentStatus status) {
         Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.BOOKING);
         
         booking.setPaymentStatus(status);
         
@@ -122,24 +231,89 @@ public class BookingService {
             booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
         }
         
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved);
+        return saved;
     }
     
     public void cancelBooking(Long id) {
         Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.BOOKING);
         
         if (booking.getBookingStatus() == Booking.BookingStatus.CANCELLED) {
-            throw new RuntimeException("Booking is already cancelled");
+            throw ConflictException.BOOKING_ALREADY_CANCELLED;
         }
         
         booking.setBookingStatus(Booking.BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        publishChange(booking);
     }
     
     public void deleteBooking(Long id) {
         Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.BOOKING);
         bookingRepository.delete(booking);
+        changeOutboxService.recordBookingDeleted(booking.getId());
+        publishSeatChange(booking);
+    }
+    
+    private void publishChange(Booking booking) {
+        changeOutboxService.recordBooking(booking);
+        publishSeatChange(booking);
+    }
+    
+    private void publishSeatChange(Booking booking) {
+        if (booking.getTravelPackage() != null) {
+            eventPublisher.publishEvent(BookingChangeEvent.forPackage(booking.getTravelPackage().getId()));
+        }
+    }
+    
+    // Archived bookings booked in the range, without those still in the table
+    private List<Booking> getArchivedBookings(LocalDateTime startDate, LocalDateTime endDate, Set<Long> live) {
+        if (bookingArchiveStore.isEmpty()) {
+            return List.of();
+        }
+        List<ArchivedBooking> archived = bookingArchiveStore.findByDateRange(startDate, endDate).stream()
+                .filter(booking -> !live.contains(booking.getId()))
+                .collect(Collectors.toList());
+        return archived.isEmpty() ? List.of() : restore(archived);
+    }
+    
+    // Read-only Booking objects for archived rows, with their user and package loaded in two queries;
+    // a user or package deleted since is represented by its id alone
+    private List<Booking> restore(List<ArchivedBooking> archived) {
+        Set<Long> userIds = archived.stream().map(ArchivedBooking::getUserId).collect(Collectors.toSet());
+        Set<Long> packageIds = archived.stream().map(ArchivedBooking::getPackageId).collect(Collectors.toSet());
+        Map<Long, User> users = userService.getUsersByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, TravelPackage> packages = travelPackageService.getPackagesByIds(packageIds).stream()
+                .collect(Collectors.toMap(TravelPackage::getId, Function.identity()));
+        List<Booking> bookings = new ArrayList<>(archived.size());
+        for (ArchivedBooking row : archived) {
+            Booking booking = new Booking();
+            booking.setId(row.getId());
+            booking.setUser(users.computeIfAbsent(row.getUserId(), id -> {
+                User user = new User();
+                user.setId(id);
+                return user;
+            }));
+            booking.setTravelPackage(packages.computeIfAbsent(row.getPackageId(), id -> {
+                TravelPackage travelPackage = new TravelPackage();
+                travelPackage.setId(id);
+                return travelPackage;
+            }));
+            booking.setNumberOfParticipants(row.getNumberOfParticipants());
+            booking.setTotalPrice(row.getTotalPrice());
+            booking.setCurrency(row.getCurrency());
+            booking.setBookingStatus(row.getBookingStatus());
+            booking.setPaymentStatus(row.getPaymentStatus());
+            booking.setSpecialRequests(row.getSpecialRequests());
+            booking.setBookingReference(row.getBookingReference());
+            booking.setBookingDate(row.getBookingDate());
+            booking.setCreatedAt(row.getCreatedAt());
+            booking.setUpdatedAt(row.getUpdatedAt());
+            bookings.add(booking);
+        }
+        return bookings;
     }
 }
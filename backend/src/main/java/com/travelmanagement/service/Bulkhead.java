@@ -0,0 +1,111 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.exception.BulkheadRejectedException;
+import com.travelmanagement.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Runs one workload class of slow reads (reports, searches) off the servlet threads, on its own
+// bounded pool, so a flood of one class can neither exhaust the servlet threads nor starve the
+// others. Every task carries the deadline of the request that submitted it: a task still queued
+// at its deadline is skipped, and a running one executes in a read-only transaction whose timeout
+// is the time left, which Spring hands to each JPA query as its JDBC query timeout; the database
+// cancels the statement rather than finishing it for a client that has stopped waiting. The returned
+// future completes at the deadline at the latest. A full pool fails the future with
+// BulkheadRejectedException, a passed deadline or a query timeout with DeadlineExceededException;
+// both are answered with 503. Each bulkhead creates the two once, as they are thrown under overload.
+// Work that reads through RequestCoalescer goes through submitWithoutTransaction instead: the
+// coalescer opens its own deadline-bounded transaction, and an outer one would pin a connection
+// for the whole wait (a read-only JPA transaction takes its connection at begin).
+public class Bulkhead {
+    
+    private final String name;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutMs;
+    private final MeterRegistry meterRegistry;
+    private final BulkheadRejectedException rejected;
+    private final DeadlineExceededException deadlineExceeded;
+    
+    public Bulkhead(String name, ThreadPoolTaskExecutor executor, PlatformTransactionManager transactionManager,
+                    long timeoutMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.timeoutMs = timeoutMs;
+        this.meterRegistry = meterRegistry;
+        this.rejected = new BulkheadRejectedException(name);
+        this.deadlineExceeded = new DeadlineExceededException(name, timeoutMs);
+        meterRegistry.gauge("bulkhead.queued", Tags.of("bulkhead", name), executor,
+                pool -> pool.getThreadPoolExecutor().getQueue().size());
+    }
+    
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return submit(work, true);
+    }
+    
+    // Only the deadline is set; each query must open its own transaction, which reads it from QueryDeadline
+    public <T> CompletableFuture<T> submitWithoutTransaction(Supplier<T> work) {
+        return submit(work, false);
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> work, boolean transactional) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        Supplier<T> task = transactional ? () -> inTransaction(work) : work;
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> QueryDeadline.within(deadline, task), executor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).handle((result, failure) -> {
+            if (failure == null) {
+                record("ok");
+                return result;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof RejectedExecutionException) {
+                record("rejected");
+                throw rejected;
+            }
+            // Past the deadline any failure is the deadline's doing, e.g. Hibernate refusing to start a
+            // statement in a transaction whose timeout has expired
+            if (isDeadline(cause) || System.currentTimeMillis() >= deadline) {
+                record("timeout");
+                throw deadlineExceeded;
+            }
+            record("failed");
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        });
+    }
+    
+    private <T> T inTransaction(Supplier<T> work) {
+        TransactionTemplate bounded = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        bounded.setTimeout(QueryDeadline.remainingSeconds());
+        return bounded.execute(status -> work.get());
+    }
+    
+    private static boolean isDeadline(Throwable cause) {
+        return cause instanceof TimeoutException
+                || cause instanceof TransactionTimedOutException
+                || cause instanceof org.springframework.dao.QueryTimeoutException
+                || cause instanceof QueryTimeoutException;
+    }
+    
+    private void record(String result) {
+        meterRegistry.counter("bulkhead.requests", "bulkhead", name, "result", result).increment();
+    }
+}
@@ -0,0 +1,239 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.index.CatalogColumns;
+import com.travelmanagement.repository.DestinationRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Serves the numeric catalog filters from primitive-array snapshots instead of the database.
+// Catalog writes update a row map and mark it dirty; a short scheduled tick republishes fresh
+// immutable snapshots, so readers never lock and a burst of writes costs one rebuild.
+// Matches are re-checked against the loaded entities, so a stale snapshot can only delay a row
+// from appearing, never return one that no longer qualifies.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogColumnStore {
+    
+    private final DestinationRepository destinationRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final CurrencyService currencyService;
+    private final Object publishLock = new Object();
+    
+    @Value("${travel.catalog.columns.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${travel.catalog.columns.load-chunk-size:1000}")
+    private int loadChunkSize;
+    
+    private volatile CatalogColumns destinationColumns;
+    private volatile CatalogColumns packageColumns;
+    
+    // Guarded by this
+    private Map<Long, Row> destinationRows;
+    private Map<Long, Row> packageRows;
+    private List<CatalogChangeEvent> changesDuringLoad;
+    private boolean dirty;
+    
+    public boolean isReady() {
+        return enabled && packageColumns != null && destinationColumns != null;
+    }
+    
+    // minPrice and maxPrice are in the given currency; stored prices in other currencies are converted
+    public List<Destination> findDestinationsByPriceRange(double minPrice, double maxPrice, String currency) {
+        Map<String, double[]> bounds = currencyService.boundsByCurrency(minPrice, maxPrice, currency);
+        return load(destinationRepository::findAllById, destinationColumns.idsInPriceRange(bounds), Destination::getId,
+                destination -> Boolean.TRUE.equals(destination.getIsActive()) && currencyService.isWithin(
+                        destination.getPrice(), destination.getCurrency(), minPrice, maxPrice, currency));
+    }
+    
+    public List<Destination> findFeaturedDestinations() {
+        return load(destinationRepository::findAllById, destinationColumns.featuredIds(), Destination::getId,
+                destination -> Boolean.TRUE.equals(destination.getIsActive())
+                        && Boolean.TRUE.equals(destination.getIsFeatured()));
+    }
+    
+    public List<TravelPackage> findPackagesByPriceRange(double minPrice, double maxPrice, String currency) {
+        Map<String, double[]> bounds = currencyService.boundsByCurrency(minPrice, maxPrice, currency);
+        return load(travelPackageRepository::findByIdIn, packageColumns.idsInPriceRange(bounds), TravelPackage::getId,
+                travelPackage -> Boolean.TRUE.equals(travelPackage.getIsActive()) && currencyService.isWithin(
+                        travelPackage.getPrice(), travelPackage.getCurrency(), minPrice, maxPrice, currency));
+    }
+    
+    public List<TravelPackage> findPackagesStartingFrom(LocalDate startDate) {
+        return load(travelPackageRepository::findByIdIn, packageColumns.idsStartingOnOrAfter((int) startDate.toEpochDay()),
+                TravelPackage::getId,
+                travelPackage -> Boolean.TRUE.equals(travelPackage.getIsActive())
+                        && !travelPackage.getStartDate().isBefore(startDate));
+    }
+    
+    public List<TravelPackage> findPackagesWithSpace() {
+        return load(travelPackageRepository::findByIdIn, packageColumns.idsWithFreeSeats(), TravelPackage::getId,
+                travelPackage -> Boolean.TRUE.equals(travelPackage.getIsActive()) && freeSeats(travelPackage) > 0);
+    }
+    
+    public List<TravelPackage> findFeaturedPackages() {
+        return load(travelPackageRepository::findByIdIn, packageColumns.featuredIds(), TravelPackage::getId,
+                travelPackage -> Boolean.TRUE.equals(travelPackage.getIsActive())
+                        && Boolean.TRUE.equals(travelPackage.getIsFeatured()));
+    }
+    
+    // Full reload at startup and periodically, so writes that bypass the services (bulk SQL,
+    // the synthetic data generator) are picked up; writes made during the load are replayed
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${travel.catalog.columns.reload-interval-ms:300000}",
+               initialDelayString = "${travel.catalog.columns.reload-interval-ms:300000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        
+        Map<Long, Row> loadedDestinations = new HashMap<>();
+        Map<Long, Row> loadedPackages = new HashMap<>();
+        try {
+            for (Destination destination : destinationRepository.findByIsActiveTrue()) {
+                loadedDestinations.put(destination.getId(), Row.of(destination));
+            }
+            for (TravelPackage travelPackage : travelPackageRepository.findByIsActiveTrue()) {
+                loadedPackages.put(travelPackage.getId(), Row.of(travelPackage));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+            throw e;
+        }
+        
+        synchronized (this) {
+            for (CatalogChangeEvent change : changesDuringLoad) {
+                apply(loadedDestinations, loadedPackages, change);
+            }
+            changesDuringLoad = null;
+            destinationRows = loadedDestinations;
+            packageRows = loadedPackages;
+            dirty = true;
+        }
+        publish();
+        log.info("Catalog columns loaded with {} destinations and {} packages",
+                destinationColumns.size(), packageColumns.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (destinationRows != null) {
+            apply(destinationRows, packageRows, event);
+            dirty = true;
+        }
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(event);
+        }
+    }
+    
+    // Copy-on-write: build new arrays off the current rows and swap the references
+    @Scheduled(fixedDelayString = "${travel.catalog.columns.refresh-ms:500}")
+    public void publish() {
+        // Serialized so an older copy can never be published over a newer one
+        synchronized (publishLock) {
+            List<Row> destinations;
+            List<Row> packages;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                destinations = new ArrayList<>(destinationRows.values());
+                packages = new ArrayList<>(packageRows.values());
+                dirty = false;
+            }
+            destinationColumns = toColumns(destinations);
+            packageColumns = toColumns(packages);
+        }
+    }
+    
+    private <T> List<T> load(Function<List<Long>, List<T>> finder, long[] ids, Function<T, Long> idOf, Predicate<T> recheck) {
+        List<T> results = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += loadChunkSize) {
+            List<Long> chunk = new ArrayList<>(Math.min(loadChunkSize, ids.length - from));
+            for (int i = from; i < ids.length && i < from + loadChunkSize; i++) {
+                chunk.add(ids[i]);
+            }
+            for (T entity : finder.apply(chunk)) {
+                if (recheck.test(entity)) {
+                    results.add(entity);
+                }
+            }
+        }
+        results.sort(Comparator.comparing(idOf));
+        return results;
+    }
+    
+    private static void apply(Map<Long, Row> destinations, Map<Long, Row> packages, CatalogChangeEvent event) {
+        boolean destination = event.getEntityType() == CatalogChangeEvent.EntityType.DESTINATION;
+        Map<Long, Row> rows = destination ? destinations : packages;
+        Boolean active = event.getChangeType() == CatalogChangeEvent.ChangeType.DELETE ? null
+                : destination ? event.getDestination().getIsActive() : event.getTravelPackage().getIsActive();
+        if (!Boolean.TRUE.equals(active)) {
+            rows.remove(event.getEntityId());
+        } else {
+            rows.put(event.getEntityId(), destination ? Row.of(event.getDestination()) : Row.of(event.getTravelPackage()));
+        }
+    }
+    
+    private static CatalogColumns toColumns(List<Row> rows) {
+        CatalogColumns.Builder builder = CatalogColumns.builder(rows.size());
+        for (Row row : rows) {
+            builder.add(row.id(), row.currency(), row.price(), row.startDay(), row.freeSeats(), row.featured());
+        }
+        return builder.build();
+    }
+    
+    private static int freeSeats(TravelPackage travelPackage) {
+        if (travelPackage.getMaxParticipants() == null) {
+            return 0;
+        }
+        int current = travelPackage.getCurrentParticipants() == null ? 0 : travelPackage.getCurrentParticipants();
+        return travelPackage.getMaxParticipants() - current;
+    }
+    
+    private record Row(long id, String currency, double price, int startDay, int freeSeats, boolean featured) {
+        
+        private static Row of(Destination destination) {
+            return new Row(destination.getId(), currencyCode(destination.getCurrency()), destination.getPrice(), 0, 0,
+                    Boolean.TRUE.equals(destination.getIsFeatured()));
+        }
+        
+        private static Row of(TravelPackage travelPackage) {
+            return new Row(travelPackage.getId(), currencyCode(travelPackage.getCurrency()), travelPackage.getPrice(),
+                    (int) travelPackage.getStartDate().toEpochDay(), CatalogColumnStore.freeSeats(travelPackage),
+                    Boolean.TRUE.equals(travelPackage.getIsFeatured()));
+        }
+        
+        private static String currencyCode(String currency) {
+            return currency == null ? "" : RateTable.normalize(currency);
+        }
+    }
+}
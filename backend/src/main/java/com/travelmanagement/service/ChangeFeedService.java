@@ -0,0 +1,150 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.ChangeFeedPage;
+import com.travelmanagement.entity.ChangeRecord;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.exception.GoneException;
+import com.travelmanagement.repository.ChangeRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Turns committed outbox rows into a gapless, ordered feed. The relay locks the single state row,
+// so relays on several instances take turns, and numbers every record it can see that has no
+// sequence yet. A record whose transaction commits late simply gets a later number, so a consumer
+// that has read up to N never misses a record that becomes visible after it read.
+@Service
+@Slf4j
+public class ChangeFeedService {
+    
+    private final ChangeRecordRepository changeRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean stateInitialized;
+    
+    @Value("${travel.changes.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${travel.changes.relay-batch-size:1000}")
+    private int relayBatchSize;
+    
+    @Value("${travel.changes.max-page-size:1000}")
+    private int maxPageSize;
+    
+    @Value("${travel.changes.retention:P7D}")
+    private Duration retention;
+    
+    @Value("${travel.changes.purge-chunk-size:5000}")
+    private int purgeChunkSize;
+    
+    public ChangeFeedService(ChangeRecordRepository changeRecordRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager) {
+        this.changeRecordRepository = changeRecordRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    // Changes after the given cursor in feed order. Throws GoneException when records
+    // after the cursor have already been purged and the consumer has to resynchronize in full.
+    public ChangeFeedPage getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BadRequestException("limit must be between 1 and " + maxPageSize);
+        }
+        
+        List<ChangeRecord> changes = changeRecordRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                since, PageRequest.of(0, limit));
+        // Sequences are contiguous, so anything but since + 1 first means the cursor fell behind retention
+        if (changes.isEmpty() || changes.get(0).getSequence() != since + 1) {
+            Long oldest = changeRecordRepository.findMinSequence();
+            if (oldest != null && oldest > since + 1) {
+                throw GoneException.CHANGES_NOT_RETAINED;
+            }
+        }
+        
+        long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ChangeFeedPage(changes, nextCursor, changes.size() == limit);
+    }
+    
+    // Where a consumer doing a full load should start following the feed; read it before the load
+    public long getCurrentCursor() {
+        initializeState();
+        Long last = jdbcTemplate.queryForObject("SELECT last_sequence FROM change_feed_state WHERE id = 1", Long.class);
+        return last == null ? 0L : last;
+    }
+    
+    @Scheduled(fixedDelayString = "${travel.changes.relay-interval-ms:200}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        initializeState();
+        Integer assigned;
+        do {
+            assigned = transactionTemplate.execute(status -> assignSequences());
+        } while (assigned != null && assigned == relayBatchSize);
+    }
+    
+    @Scheduled(fixedDelayString = "${travel.changes.purge-interval-ms:3600000}",
+               initialDelayString = "${travel.changes.purge-interval-ms:3600000}")
+    public void purge() {
+        Long upTo = changeRecordRepository.findMaxSequenceCreatedBefore(LocalDateTime.now().minus(retention));
+        if (upTo == null) {
+            return;
+        }
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(
+                    status -> changeRecordRepository.deleteSequencedUpTo(upTo, purgeChunkSize));
+            total += deleted == null ? 0 : deleted;
+            if (deleted == null || deleted < purgeChunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} change records up to sequence {}", total, upTo);
+        }
+    }
+    
+    private int assignSequences() {
+        // The lock is taken before the first plain read, so the snapshot below sees every record
+        // committed by the previous relay
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT last_sequence FROM change_feed_state WHERE id = 1 FOR UPDATE", Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM change_outbox WHERE sequence_number IS NULL ORDER BY id LIMIT ?",
+                Long.class, relayBatchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object[]> assignments = new ArrayList<>(ids.size());
+        long next = last;
+        for (Long id : ids) {
+            assignments.add(new Object[]{++next, id});
+        }
+        jdbcTemplate.batchUpdate("UPDATE change_outbox SET sequence_number = ? WHERE id = ?", assignments);
+        jdbcTemplate.update("UPDATE change_feed_state SET last_sequence = ? WHERE id = 1", next);
+        return ids.size();
+    }
+    
+    private void initializeState() {
+        if (!stateInitialized) {
+            jdbcTemplate.update("INSERT IGNORE INTO change_feed_state (id, last_sequence) VALUES (1, 0)");
+            stateInitialized = true;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.travelmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.ChangeRecord;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.CatalogChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Appends change records to the outbox table. Every method is called synchronously from inside the
+// writing transaction, and JdbcTemplate joins that transaction's connection, so a record commits or
+// rolls back together with the write it describes.
+@Service
+@RequiredArgsConstructor
+public class ChangeOutboxService {
+    
+    private static final String INSERT_SQL = "INSERT INTO change_outbox " +
+            "(entity_type, entity_id, change_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    // Declared so a null payload is bound directly; otherwise JdbcTemplate asks the driver for the
+    // parameter type of every null it binds
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.LONGVARCHAR, Types.TIMESTAMP};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${travel.changes.enabled:true}")
+    private boolean enabled;
+    
+    // A plain (not transactional) listener, so it runs before the publishing transaction commits
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        ChangeRecord.EntityType entityType = ChangeRecord.EntityType.valueOf(event.getEntityType().name());
+        if (event.getChangeType() == CatalogChangeEvent.ChangeType.DELETE) {
+            append(entityType, List.of(event.getEntityId()), ChangeRecord.ChangeType.DELETE, null);
+        } else if (entityType == ChangeRecord.EntityType.DESTINATION) {
+            append(entityType, List.of(event.getEntityId()), ChangeRecord.ChangeType.UPSERT,
+                    payload(event.getDestination()));
+        } else {
+            append(entityType, List.of(event.getEntityId()), ChangeRecord.ChangeType.UPSERT,
+                    payload(event.getTravelPackage()));
+        }
+    }
+    
+    public void recordBooking(Booking booking) {
+        append(ChangeRecord.EntityType.BOOKING, List.of(booking.getId()), ChangeRecord.ChangeType.UPSERT,
+                payload(booking));
+    }
+    
+    public void recordBookingDeleted(Long bookingId) {
+        append(ChangeRecord.EntityType.BOOKING, List.of(bookingId), ChangeRecord.ChangeType.DELETE, null);
+    }
+    
+    // Set-based updates do not load the rows, so these records carry no payload
+    public void recordBookingsChanged(Collection<Long> bookingIds) {
+        append(ChangeRecord.EntityType.BOOKING, bookingIds, ChangeRecord.ChangeType.UPSERT, null);
+    }
+    
+    public void recordBookingsDeleted(Collection<Long> bookingIds) {
+        append(ChangeRecord.EntityType.BOOKING, bookingIds, ChangeRecord.ChangeType.DELETE, null);
+    }
+    
+    private void append(ChangeRecord.EntityType entityType, Collection<Long> entityIds,
+                        ChangeRecord.ChangeType changeType, Map<String, Object> payload) {
+        if (!enabled || entityIds.isEmpty()) {
+            return;
+        }
+        String json = payload == null ? null : toJson(payload);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entityIds.size());
+        for (Long entityId : entityIds) {
+            rows.add(new Object[]{entityType.name(), entityId, changeType.name(), json, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_TYPES);
+    }
+    
+    private Map<String, Object> payload(Destination destination) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", destination.getName());
+        payload.put("country", destination.getCountry());
+        payload.put("city", destination.getCity());
+        payload.put("price", destination.getPrice());
+        payload.put("currency", destination.getCurrency());
+        payload.put("latitude", destination.getLatitude());
+        payload.put("longitude", destination.getLongitude());
+        payload.put("isFeatured", destination.getIsFeatured());
+        payload.put("isActive", destination.getIsActive());
+        return payload;
+    }
+    
+    private Map<String, Object> payload(TravelPackage travelPackage) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", travelPackage.getName());
+        payload.put("destinationId", travelPackage.getDestination() == null ? null : travelPackage.getDestination().getId());
+        payload.put("startDate", travelPackage.getStartDate());
+        payload.put("endDate", travelPackage.getEndDate());
+        payload.put("price", travelPackage.getPrice());
+        payload.put("currency", travelPackage.getCurrency());
+        payload.put("maxParticipants", travelPackage.getMaxParticipants());
+        payload.put("currentParticipants", travelPackage.getCurrentParticipants());
+        payload.put("packageType", travelPackage.getPackageType());
+        payload.put("isFeatured", travelPackage.getIsFeatured());
+        payload.put("isActive", travelPackage.getIsActive());
+        return payload;
+    }
+    
+    private Map<String, Object> payload(Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingReference", booking.getBookingReference());
+        payload.put("userId", booking.getUser() == null ? null : booking.getUser().getId());
+        payload.put("packageId", booking.getTravelPackage() == null ? null : booking.getTravelPackage().getId());
+        payload.put("numberOfParticipants", booking.getNumberOfParticipants());
+        payload.put("totalPrice", booking.getTotalPrice());
+        payload.put("currency", booking.getCurrency());
+        payload.put("bookingStatus", booking.getBookingStatus());
+        payload.put("paymentStatus", booking.getPaymentStatus());
+        return payload;
+    }
+    
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change payload", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.Priced;
+import com.travelmanagement.dto.PricedView;
+import com.travelmanagement.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CurrencyService {
+    
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<RateTable> rates = new AtomicReference<>();
+    
+    @Value("${travel.currency.base:USD}")
+    private String baseCurrency;
+    
+    // Any Spring resource location: classpath:, file: or http(s):
+    @Value("${travel.currency.rates-location:classpath:currency-rates.properties}")
+    private String ratesLocation;
+    
+    @PostConstruct
+    public void init() {
+        try {
+            rates.set(load());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load exchange rates from {}, only {} prices will be served", ratesLocation, baseCurrency, e);
+            rates.set(RateTable.baseOnly(baseCurrency));
+        }
+    }
+    
+    // A failed refresh keeps serving the previous table
+    @Scheduled(fixedDelayString = "${travel.currency.refresh-interval-ms:3600000}",
+               initialDelayString = "${travel.currency.refresh-interval-ms:3600000}")
+    public void refresh() {
+        try {
+            rates.set(load());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Exchange rate refresh from {} failed, keeping rates loaded at {}",
+                    ratesLocation, rates.get().getLoadedAt(), e);
+        }
+    }
+    
+    public RateTable getRates() {
+        return rates.get();
+    }
+    
+    public String getBaseCurrency() {
+        return rates.get().getBase();
+    }
+    
+    public String requireSupported(String currency) {
+        if (!rates.get().supports(currency)) {
+            throw new BadRequestException("Unsupported currency: " + currency);
+        }
+        return RateTable.normalize(currency);
+    }
+    
+    // Wraps every item with its price in the target currency in one pass; the rate table is read
+    // once and each source currency's factor is looked up once per call. A null target returns the
+    // items unconverted.
+    public <T> List<PricedView<T>> price(List<T> items, Function<T, Double> price, Function<T, String> currency,
+                                         String targetCurrency) {
+        List<PricedView<T>> views = new ArrayList<>(items.size());
+        if (targetCurrency == null) {
+            for (T item : items) {
+                views.add(new PricedView<>(item, null, null));
+            }
+            return views;
+        }
+        
+        RateTable table = rates.get();
+        String target = requireSupported(targetCurrency);
+        Map<String, Double> factors = new HashMap<>();
+        for (T item : items) {
+            Double amount = price.apply(item);
+            String source = currency.apply(item);
+            double factor = source == null ? Double.NaN : factors.computeIfAbsent(source, code -> table.factor(code, target));
+            if (amount == null || Double.isNaN(factor)) {
+                views.add(new PricedView<>(item, null, null));
+            } else {
+                views.add(new PricedView<>(item, Math.round(amount * factor * 100) / 100.0, target));
+            }
+        }
+        return views;
+    }
+    
+    public <T extends Priced> List<PricedView<T>> price(List<T> items, String targetCurrency) {
+        return price(items, Priced::price, Priced::currency, targetCurrency);
+    }
+    
+    // Runs a sparse-fieldset query for the given fields and prices its rows. With a target currency
+    // the price field and currency are selected as well, as the conversion needs them, and an
+    // unsupported currency is rejected before the query runs.
+    public List<Map<String, Object>> priceSelected(String fields, String priceField, String targetCurrency,
+                                                   Function<String, List<Map<String, Object>>> query) {
+        if (targetCurrency == null) {
+            return query.apply(fields);
+        }
+        requireSupported(targetCurrency);
+        return priceFields(query.apply(fields + "," + priceField + ",currency"), priceField, targetCurrency);
+    }
+    
+    // Same as price for sparse rows: displayPrice and displayCurrency are added to each row in place,
+    // converted from the row's priceField and "currency" entries
+    public List<Map<String, Object>> priceFields(List<Map<String, Object>> rows, String priceField, String targetCurrency) {
+        if (targetCurrency == null) {
+            return rows;
+        }
+        for (PricedView<Map<String, Object>> view : price(rows, row -> (Double) row.get(priceField),
+                row -> (String) row.get("currency"), targetCurrency)) {
+            view.getItem().put("displayPrice", view.getDisplayPrice());
+            view.getItem().put("displayCurrency", view.getDisplayCurrency());
+        }
+        return rows;
+    }
+    
+    // Price bounds expressed in every known currency, so a range given in one currency can be
+    // applied to raw stored prices without converting each row
+    public Map<String, double[]> boundsByCurrency(double minPrice, double maxPrice, String targetCurrency) {
+        RateTable table = rates.get();
+        String target = requireSupported(targetCurrency);
+        Map<String, double[]> bounds = new HashMap<>();
+        for (String code : table.getRates().keySet()) {
+            double factor = table.factor(target, code);
+            bounds.put(code, new double[]{minPrice * factor, maxPrice * factor});
+        }
+        return bounds;
+    }
+    
+    public boolean isWithin(Double amount, String currency, double minPrice, double maxPrice, String targetCurrency) {
+        if (amount == null) {
+            return false;
+        }
+        // Same arithmetic as boundsByCurrency, so both agree exactly at the edges of the range
+        double factor = rates.get().factor(targetCurrency, currency);
+        if (Double.isNaN(factor)) {
+            return false;
+        }
+        return amount >= minPrice * factor && amount <= maxPrice * factor;
+    }
+    
+    private RateTable load() throws IOException {
+        Resource resource = resourceLoader.getResource(ratesLocation);
+        Properties properties = new Properties();
+        try (InputStream input = resource.getInputStream();
+             Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        RateTable table = RateTable.fromProperties(baseCurrency, properties);
+        log.info("Loaded {} exchange rates against {} from {}", table.getRates().size(), table.getBase(), ratesLocation);
+        return table;
+    }
+}
@@ -1,13 +1,30 @@
 package com.travelmanagement.service;
 
+import com.travelmanagement.dto.BatchResult;
 import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.DestinationDetails;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.exception.NotFoundException;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.DestinationDetailsRepository;
 import com.travelmanagement.repository.DestinationRepository;
+import com.travelmanagement.repository.DestinationSpecifications;
+import com.travelmanagement.repository.TravelPackageDetailsRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,46 +32,146 @@ import java.util.Optional;
 public class DestinationService {
     
     private final DestinationRepository destinationRepository;
+    private final DestinationDetailsRepository destinationDetailsRepository;
+    private final TravelPackageDetailsRepository travelPackageDetailsRepository;
+    private final BookingRepository bookingRepository;
+    private final ChangeOutboxService changeOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FuzzySearchService fuzzySearchService;
+    private final CatalogColumnStore catalogColumnStore;
+    private final CurrencyService currencyService;
+    private final SparseFieldService sparseFieldService;
+    private final RequestCoalescer requestCoalescer;
+    private final BatchLookup batchLookup;
     
     public List<Destination> getAllDestinations() {
         return destinationRepository.findAll();
     }
     
+    // Identical concurrent list reads share one query; see TravelPackageService
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Destination> getActiveDestinations() {
-        return destinationRepository.findByIsActiveTrue();
+        return requestCoalescer.execute(List.of("destinations.active"), destinationRepository::findByIsActiveTrue);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Destination> getFeaturedDestinations() {
-        return destinationRepository.findByIsFeaturedTrueAndIsActiveTrue();
+        return requestCoalescer.execute(List.of("destinations.featured"), () -> {
+            if (catalogColumnStore.isReady()) {
+                return catalogColumnStore.findFeaturedDestinations();
+            }
+            return destinationRepository.findByIsFeaturedTrueAndIsActiveTrue();
+        });
     }
     
     public Optional<Destination> getDestinationById(Long id) {
         return destinationRepository.findById(id);
     }
     
+    public BatchResult<Destination> getDestinationsInRequestOrder(List<Long> ids) {
+        return batchLookup.resolve(ids, destinationRepository::findAllById, Destination::getId);
+    }
+    
+    // The destination together with its long text fields, for the detail endpoint
+    public Optional<Destination> getDestinationWithDetails(Long id) {
+        return destinationRepository.findById(id).map(destination -> {
+            destinationDetailsRepository.findById(id).ifPresent(details -> details.applyTo(destination));
+            return destination;
+        });
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Destination> getDestinationsByCountry(String country) {
-        return destinationRepository.findByCountry(country);
+        return requestCoalescer.execute(List.of("destinations.country", country),
+                () -> destinationRepository.findByCountry(country));
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Destination> getDestinationsByCity(String city) {
-        return destinationRepository.findByCity(city);
+        return requestCoalescer.execute(List.of("destinations.city", city), () -> destinationRepository.findByCity(city));
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Destination> searchDestinations(String searchTerm) {
-        return destinationRepository.searchDestinations(searchTerm);
+        return requestCoalescer.execute(List.of("destinations.search", searchTerm.toLowerCase(Locale.ROOT)),
+                () -> findDestinations(searchTerm));
+    }
+    
+    private List<Destination> findDestinations(String searchTerm) {
+        List<Destination> destinations = destinationRepository.searchDestinations(searchTerm);
+        if (!destinations.isEmpty()) {
+            return destinations;
+        }
+        // Nothing contains the term verbatim; fall back to typo-tolerant matching, best match first
+        List<Long> ids = fuzzySearchService.matchDestinations(searchTerm);
+        if (ids.isEmpty()) {
+            return destinations;
+        }
+        Map<Long, Destination> byId = destinationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Destination::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+    
+    // Bounds are in the given currency (base currency when null) and compared against converted prices
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Destination> getDestinationsByPriceRange(Double minPrice, Double maxPrice, String currency) {
+        String target = currencyService.requireSupported(currency == null ? currencyService.getBaseCurrency() : currency);
+        return requestCoalescer.execute(List.of("destinations.price", minPrice, maxPrice, target), () -> {
+            if (catalogColumnStore.isReady()) {
+                return catalogColumnStore.findDestinationsByPriceRange(minPrice, maxPrice, target);
+            }
+            return destinationRepository.findAll(
+                    DestinationSpecifications.priceWithin(currencyService.boundsByCurrency(minPrice, maxPrice, target)));
+        });
+    }
+    
+    // Sparse fieldset variants of the list methods above: same filters, only the named fields are read
+    public List<Map<String, Object>> getActiveDestinationFields(String fields) {
+        return sparseFieldService.find(Destination.class, fields, DestinationSpecifications.active());
     }
     
-    public List<Destination> getDestinationsByPriceRange(Double minPrice, Double maxPrice) {
-        return destinationRepository.findByPriceRange(minPrice, maxPrice);
+    public List<Map<String, Object>> getFeaturedDestinationFields(String fields) {
+        return sparseFieldService.find(Destination.class, fields, DestinationSpecifications.featured());
+    }
+    
+    public List<Map<String, Object>> getDestinationFieldsByCountry(String country, String fields) {
+        return sparseFieldService.find(Destination.class, fields, DestinationSpecifications.byCountry(country));
+    }
+    
+    public List<Map<String, Object>> getDestinationFieldsByCity(String city, String fields) {
+        return sparseFieldService.find(Destination.class, fields, DestinationSpecifications.byCity(city));
+    }
+    
+    public List<Map<String, Object>> getDestinationFieldsByPriceRange(Double minPrice, Double maxPrice, String currency, String fields) {
+        String target = currencyService.requireSupported(currency == null ? currencyService.getBaseCurrency() : currency);
+        return sparseFieldService.find(Destination.class, fields,
+                DestinationSpecifications.priceWithin(currencyService.boundsByCurrency(minPrice, maxPrice, target)));
+    }
+    
+    public List<Map<String, Object>> searchDestinationFields(String searchTerm, String fields) {
+        List<Map<String, Object>> rows = sparseFieldService.find(Destination.class, fields,
+                DestinationSpecifications.search(searchTerm));
+        if (!rows.isEmpty()) {
+            return rows;
+        }
+        List<Long> ids = fuzzySearchService.matchDestinations(searchTerm);
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        return SparseFieldService.orderByIds(
+                sparseFieldService.find(Destination.class, fields, DestinationSpecifications.idIn(ids)), ids);
     }
     
     public Destination createDestination(Destination destination) {
-        return destinationRepository.save(destination);
+        Destination saved = destinationRepository.save(destination);
+        destinationDetailsRepository.save(DestinationDetails.of(saved));
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(saved));
+        return saved;
     }
     
     public Destination updateDestination(Long id, Destination destinationDetails) {
         Destination destination = destinationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Destination not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.DESTINATION);
         
         destination.setName(destinationDetails.getName());
         destination.setCountry(destinationDetails.getCountry());
@@ -66,22 +183,42 @@ public class DestinationService {
         destination.setBestTimeToVisit(destinationDetails.getBestTimeToVisit());
         destination.setClimate(destinationDetails.getClimate());
         destination.setPopularAttractions(destinationDetails.getPopularAttractions());
+        destination.setLatitude(destinationDetails.getLatitude());
+        destination.setLongitude(destinationDetails.getLongitude());
         destination.setIsFeatured(destinationDetails.getIsFeatured());
         destination.setIsActive(destinationDetails.getIsActive());
         
-        return destinationRepository.save(destination);
+        Destination saved = destinationRepository.save(destination);
+        destinationDetailsRepository.save(DestinationDetails.of(saved));
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(saved));
+        return saved;
     }
     
     public void deleteDestination(Long id) {
         Destination destination = destinationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Destination not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.DESTINATION);
+        
+        // Packages and their bookings go with their destination through the cascade, so announce them
+        // and drop the package details as well
+        List<Long> packageIds = new ArrayList<>();
+        for (TravelPackage travelPackage : destination.getPackages()) {
+            packageIds.add(travelPackage.getId());
+            eventPublisher.publishEvent(CatalogChangeEvent.packageDeleted(travelPackage.getId()));
+        }
+        if (!packageIds.isEmpty()) {
+            changeOutboxService.recordBookingsDeleted(bookingRepository.findIdsByPackageIds(packageIds));
+        }
         destinationRepository.delete(destination);
+        travelPackageDetailsRepository.deleteAllByIdInBatch(packageIds);
+        destinationDetailsRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangeEvent.destinationDeleted(id));
     }
     
     public void toggleDestinationStatus(Long id) {
         Destination destination = destinationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Destination not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.DESTINATION);
         destination.setIsActive(!destination.getIsActive());
         destinationRepository.save(destination);
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(destination));
     }
 }
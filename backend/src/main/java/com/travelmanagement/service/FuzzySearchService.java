@@ -0,0 +1,201 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.index.TrigramIndex;
+import com.travelmanagement.repository.DestinationRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FuzzySearchService {
+    
+    private final DestinationRepository destinationRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    @Value("${travel.search.fuzzy.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${travel.search.fuzzy.max-results:50}")
+    private int maxResults;
+    
+    // Guarded by lock
+    private FuzzyCatalog catalog;
+    private List<CatalogChangeEvent> changesDuringBuild;
+    
+    public List<Long> matchDestinations(String query) {
+        return match(query, true);
+    }
+    
+    public List<Long> matchPackages(String query) {
+        return match(query, false);
+    }
+    
+    private List<Long> match(String query, boolean destinations) {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            if (catalog == null) {
+                return Collections.emptyList();
+            }
+            TrigramIndex index = destinations ? catalog.destinations : catalog.packages;
+            return index.search(query, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Full build at startup and periodically, so names written around the services (bulk SQL, the
+    // synthetic data generator) become searchable; catalog writes made while the new index is loading
+    // are replayed onto it before it replaces the live one
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${travel.search.fuzzy.rebuild-interval-ms:600000}",
+               initialDelayString = "${travel.search.fuzzy.rebuild-interval-ms:600000}")
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changesDuringBuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        FuzzyCatalog loaded = new FuzzyCatalog();
+        try {
+            for (Destination destination : destinationRepository.findAll()) {
+                loaded.putDestination(destination);
+            }
+            for (TravelPackage travelPackage : travelPackageRepository.findAll()) {
+                loaded.putPackage(travelPackage);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            for (CatalogChangeEvent change : changesDuringBuild) {
+                loaded.apply(change);
+            }
+            changesDuringBuild = null;
+            catalog = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Fuzzy search index built with {} destinations and {} packages",
+                loaded.destinations.size(), loaded.packages.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (catalog != null) {
+                catalog.apply(event);
+            }
+            if (changesDuringBuild != null) {
+                changesDuringBuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Mirrors the columns the LIKE searches look at: destinations by name, city and country, packages
+    // by their own name plus their destination's name and country. Destination text is kept here so
+    // packages can be re-indexed on a destination rename without touching the lazy association.
+    private static final class FuzzyCatalog {
+        
+        private final TrigramIndex destinations = new TrigramIndex();
+        private final TrigramIndex packages = new TrigramIndex();
+        private final Map<Long, String> destinationTexts = new HashMap<>();
+        private final Map<Long, String> packageNames = new HashMap<>();
+        private final Map<Long, Long> packageDestinations = new HashMap<>();
+        private final Map<Long, Set<Long>> packagesByDestination = new HashMap<>();
+        
+        private void apply(CatalogChangeEvent event) {
+            boolean destination = event.getEntityType() == CatalogChangeEvent.EntityType.DESTINATION;
+            if (event.getChangeType() == CatalogChangeEvent.ChangeType.DELETE) {
+                if (destination) {
+                    destinations.remove(event.getEntityId());
+                    destinationTexts.remove(event.getEntityId());
+                } else {
+                    removePackage(event.getEntityId());
+                }
+            } else if (destination) {
+                putDestination(event.getDestination());
+            } else {
+                putPackage(event.getTravelPackage());
+            }
+        }
+        
+        private void putDestination(Destination destination) {
+            String text = destination.getName() + " " + destination.getCountry();
+            destinations.put(destination.getId(), text + " " + destination.getCity());
+            if (!text.equals(destinationTexts.put(destination.getId(), text))) {
+                for (Long packageId : packagesByDestination.getOrDefault(destination.getId(), Collections.emptySet())) {
+                    packages.put(packageId, packageNames.get(packageId) + " " + text);
+                }
+            }
+        }
+        
+        private void putPackage(TravelPackage travelPackage) {
+            removePackage(travelPackage.getId());
+            Long destinationId = travelPackage.getDestination() == null ? null : travelPackage.getDestination().getId();
+            packageNames.put(travelPackage.getId(), travelPackage.getName());
+            if (destinationId != null) {
+                packageDestinations.put(travelPackage.getId(), destinationId);
+                packagesByDestination.computeIfAbsent(destinationId, id -> new HashSet<>()).add(travelPackage.getId());
+            }
+            String destinationText = destinationId == null ? null : destinationTexts.get(destinationId);
+            packages.put(travelPackage.getId(),
+                    destinationText == null ? travelPackage.getName() : travelPackage.getName() + " " + destinationText);
+        }
+        
+        private void removePackage(Long packageId) {
+            packages.remove(packageId);
+            packageNames.remove(packageId);
+            Long destinationId = packageDestinations.remove(packageId);
+            if (destinationId != null) {
+                Set<Long> siblings = packagesByDestination.get(destinationId);
+                siblings.remove(packageId);
+                if (siblings.isEmpty()) {
+                    packagesByDestination.remove(destinationId);
+                }
+            }
+        }
+    }
+}
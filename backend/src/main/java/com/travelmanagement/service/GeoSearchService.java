@@ -0,0 +1,189 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.NearbyDestination;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.index.GeoGridIndex;
+import com.travelmanagement.mapper.ResponseMapper;
+import com.travelmanagement.repository.DestinationRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeoSearchService {
+    
+    private final DestinationRepository destinationRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final ResponseMapper responseMapper;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    @Value("${travel.geo.cell-degrees:1.0}")
+    private double cellDegrees;
+    
+    @Value("${travel.geo.max-results:100}")
+    private int maxResults;
+    
+    // Guarded by lock
+    private GeoGridIndex index;
+    private List<CatalogChangeEvent> changesDuringBuild;
+    
+    public List<NearbyDestination> findWithinRadius(double latitude, double longitude, double radiusKm,
+                                                    int limit, boolean includePackages) {
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0) {
+            throw new BadRequestException("Radius must be positive");
+        }
+        int size = Math.min(Math.max(limit, 1), maxResults);
+        
+        List<GeoGridIndex.GeoHit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index == null ? Collections.emptyList() : index.withinRadius(latitude, longitude, radiusKm, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return load(hits, includePackages);
+    }
+    
+    public List<NearbyDestination> findNearest(double latitude, double longitude, int k, boolean includePackages) {
+        validateCoordinates(latitude, longitude);
+        int size = Math.min(Math.max(k, 1), maxResults);
+        
+        List<GeoGridIndex.GeoHit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index == null ? Collections.emptyList() : index.nearest(latitude, longitude, size, Double.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return load(hits, includePackages);
+    }
+    
+    // Full build at startup and periodically, so coordinates written around the services (bulk SQL,
+    // the synthetic data generator) are picked up; catalog writes made while the new index is loading
+    // are replayed onto it before it replaces the live one
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${travel.geo.rebuild-interval-ms:600000}",
+               initialDelayString = "${travel.geo.rebuild-interval-ms:600000}")
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            changesDuringBuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        GeoGridIndex loaded = new GeoGridIndex(cellDegrees);
+        try {
+            for (Destination destination : destinationRepository.findByIsActiveTrue()) {
+                put(loaded, destination);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            for (CatalogChangeEvent change : changesDuringBuild) {
+                apply(loaded, change);
+            }
+            changesDuringBuild = null;
+            index = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Geo index built with {} destinations", loaded.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getEntityType() != CatalogChangeEvent.EntityType.DESTINATION) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                apply(index, event);
+            }
+            if (changesDuringBuild != null) {
+                changesDuringBuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private List<NearbyDestination> load(List<GeoGridIndex.GeoHit> hits, boolean includePackages) {
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = hits.stream().map(GeoGridIndex.GeoHit::id).collect(Collectors.toList());
+        Map<Long, Destination> destinations = destinationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Destination::getId, Function.identity()));
+        Map<Long, List<TravelPackage>> packages = includePackages
+                ? travelPackageRepository.findByDestinationIdInAndIsActiveTrue(ids).stream()
+                        .collect(Collectors.groupingBy(travelPackage -> travelPackage.getDestination().getId()))
+                : Collections.emptyMap();
+        
+        List<NearbyDestination> results = new ArrayList<>(hits.size());
+        for (GeoGridIndex.GeoHit hit : hits) {
+            Destination destination = destinations.get(hit.id());
+            if (destination != null) {
+                // The mapper passes a null list through, keeping packages out of the JSON
+                List<TravelPackage> nearbyPackages = includePackages ? packages.getOrDefault(hit.id(), Collections.emptyList()) : null;
+                results.add(new NearbyDestination(responseMapper.toResponse(destination), Math.round(hit.distanceKm() * 10) / 10.0,
+                        responseMapper.toPackageResponses(nearbyPackages)));
+            }
+        }
+        return results;
+    }
+    
+    private static void apply(GeoGridIndex index, CatalogChangeEvent event) {
+        if (event.getChangeType() == CatalogChangeEvent.ChangeType.DELETE) {
+            index.remove(event.getEntityId());
+        } else {
+            put(index, event.getDestination());
+        }
+    }
+    
+    // Only active destinations with coordinates are searchable
+    private static void put(GeoGridIndex index, Destination destination) {
+        if (Boolean.TRUE.equals(destination.getIsActive())
+                && destination.getLatitude() != null && destination.getLongitude() != null) {
+            index.put(destination.getId(), destination.getLatitude(), destination.getLongitude());
+        } else {
+            index.remove(destination.getId());
+        }
+    }
+    
+    private static void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
+}
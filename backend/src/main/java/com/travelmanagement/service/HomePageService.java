@@ -0,0 +1,88 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.HomePage;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// The three home page lists in one call. The branches run concurrently on the bounded home page
+// executor, each in its own read transaction (the list reads open one per query), so the response
+// takes as long as the slowest branch rather than the sum. A branch that fails, is rejected by the
+// full executor or runs past its timeout yields an empty list and is reported as unavailable; the
+// other branches are still returned. A timed-out query is not interrupted, it finishes in the
+// background and its result is dropped.
+@Service
+@Slf4j
+public class HomePageService {
+    
+    private final DestinationService destinationService;
+    private final TravelPackageService travelPackageService;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${travel.home.branch-timeout-ms:2000}")
+    private long branchTimeoutMs;
+    
+    public HomePageService(DestinationService destinationService,
+                           TravelPackageService travelPackageService,
+                           @Qualifier("homePageExecutor") ThreadPoolTaskExecutor executor,
+                           MeterRegistry meterRegistry) {
+        this.destinationService = destinationService;
+        this.travelPackageService = travelPackageService;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public HomePage<Destination, TravelPackage> getHomePage() {
+        CompletableFuture<List<Destination>> featuredDestinations = branch(destinationService::getFeaturedDestinations);
+        CompletableFuture<List<TravelPackage>> featuredPackages = branch(travelPackageService::getFeaturedPackages);
+        CompletableFuture<List<TravelPackage>> availablePackages = branch(travelPackageService::getAvailablePackagesWithSpace);
+        
+        List<String> unavailable = new ArrayList<>();
+        return new HomePage<>(
+                join("featuredDestinations", featuredDestinations, unavailable),
+                join("featuredPackages", featuredPackages, unavailable),
+                join("availablePackages", availablePackages, unavailable),
+                unavailable);
+    }
+    
+    private <T> CompletableFuture<List<T>> branch(Supplier<List<T>> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, executor).orTimeout(branchTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    // The timeouts all started together, so waiting for the branches one after another still ends
+    // within one timeout of the start
+    private <T> List<T> join(String name, CompletableFuture<List<T>> branch, List<String> unavailable) {
+        Throwable failure = branch.handle((result, e) -> e).join();
+        if (failure == null) {
+            meterRegistry.counter("home.branches", "branch", name, "result", "ok").increment();
+            return branch.join();
+        }
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        String result = cause instanceof TimeoutException ? "timeout"
+                : cause instanceof RejectedExecutionException ? "rejected" : "failed";
+        meterRegistry.counter("home.branches", "branch", name, "result", result).increment();
+        if (result.equals("failed")) {
+            log.warn("Home page section {} failed", name, cause);
+        }
+        unavailable.add(name);
+        return List.of();
+    }
+}
@@ -0,0 +1,72 @@
+package com.travelmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Retries an optimistic read-modify-write at the outermost transaction boundary. Called with no
+// transaction active, each attempt runs in a transaction of its own, so a retry re-reads the current
+// row and version. Called inside a caller's transaction, the action joins it and runs once: a retry
+// there would re-run only part of the caller's unit of work, so the conflict is left to the caller.
+@Component
+public class OptimisticRetryExecutor {
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${travel.retry.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${travel.retry.base-backoff-ms:5}")
+    private long baseBackoffMs;
+    
+    @Value("${travel.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+    
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+    }
+    
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        int attempt = 1;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backoff(attempt++);
+            }
+        }
+    }
+    
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+    
+    private void backoff(int attempt) {
+        // Exponential backoff with full jitter so colliding writers spread out instead of retrying in lockstep
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt, 16));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying optimistic update", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.PaymentStatusResult;
+import com.travelmanagement.dto.PaymentStatusUpdate;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.event.BookingChangeEvent;
+import com.travelmanagement.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationService {
+    
+    // Payment news for a cancelled or completed booking is reported back rather than applied
+    private static final Set<Booking.BookingStatus> RECONCILABLE =
+            EnumSet.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+    
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutboxService changeOutboxService;
+    
+    @Value("${travel.reconciliation.chunk-size:1000}")
+    private int chunkSize;
+    
+    public List<PaymentStatusResult> reconcile(List<PaymentStatusUpdate> updates) {
+        PaymentStatusResult[] results = new PaymentStatusResult[updates.size()];
+        
+        // The last entry for a reference wins, earlier duplicates are reported as superseded
+        Map<String, Integer> lastIndexByReference = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            PaymentStatusUpdate update = updates.get(i);
+            if (update == null || update.getBookingReference() == null || update.getBookingReference().isBlank()
+                    || update.getPaymentStatus() == null) {
+                results[i] = result(update, PaymentStatusResult.Outcome.INVALID);
+                continue;
+            }
+            Integer previous = lastIndexByReference.put(update.getBookingReference(), i);
+            if (previous != null) {
+                results[previous] = result(updates.get(previous), PaymentStatusResult.Outcome.SUPERSEDED);
+            }
+        }
+        
+        List<Integer> pending = new ArrayList<>(lastIndexByReference.values());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyChunk(updates, chunk, results));
+            } catch (DataAccessException e) {
+                log.warn("Payment reconciliation chunk of {} items failed", chunk.size(), e);
+                for (Integer index : chunk) {
+                    results[index] = result(updates.get(index), PaymentStatusResult.Outcome.FAILED);
+                }
+            }
+        }
+        
+        return Arrays.asList(results);
+    }
+    
+    private void applyChunk(List<PaymentStatusUpdate> updates, List<Integer> chunk, PaymentStatusResult[] results) {
+        Map<String, Integer> indexByReference = new HashMap<>(chunk.size() * 2);
+        for (Integer index : chunk) {
+            indexByReference.put(updates.get(index).getBookingReference(), index);
+        }
+        
+        Map<String, BookingRepository.BookingKey> keyByReference = new HashMap<>(chunk.size() * 2);
+        for (BookingRepository.BookingKey key : bookingRepository.findKeysByBookingReferencesForUpdate(indexByReference.keySet())) {
+            keyByReference.put(key.getBookingReference(), key);
+        }
+        
+        // The rows are locked, so their status is settled and each is written once, by primary key
+        Map<Booking.PaymentStatus, List<Long>> idsByStatus = new EnumMap<>(Booking.PaymentStatus.class);
+        List<Long> confirmedIds = new ArrayList<>();
+        List<Long> paidIds = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>(chunk.size());
+        indexByReference.forEach((reference, index) -> {
+            BookingRepository.BookingKey key = keyByReference.get(reference);
+            if (key == null) {
+                results[index] = result(updates.get(index), PaymentStatusResult.Outcome.NOT_FOUND);
+            } else if (!RECONCILABLE.contains(key.getBookingStatus())) {
+                results[index] = result(updates.get(index), PaymentStatusResult.Outcome.REJECTED);
+            } else {
+                Booking.PaymentStatus status = updates.get(index).getPaymentStatus();
+                // Same transition as updatePaymentStatus: a paid booking that is still pending becomes confirmed
+                if (status == Booking.PaymentStatus.PAID && key.getBookingStatus() == Booking.BookingStatus.PENDING) {
+                    confirmedIds.add(key.getId());
+                } else {
+                    idsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(key.getId());
+                }
+                if (status == Booking.PaymentStatus.PAID) {
+                    paidIds.add(key.getId());
+                }
+                updatedIds.add(key.getId());
+                results[index] = result(updates.get(index), PaymentStatusResult.Outcome.UPDATED);
+            }
+        });
+        
+        LocalDateTime now = LocalDateTime.now();
+        idsByStatus.forEach((status, ids) -> bookingRepository.updatePaymentStatusByIds(ids, status, now));
+        if (!confirmedIds.isEmpty()) {
+            bookingRepository.updateStatusesByIds(confirmedIds, Booking.PaymentStatus.PAID, Booking.BookingStatus.CONFIRMED, now);
+        }
+        
+        changeOutboxService.recordBookingsChanged(updatedIds);
+        if (!paidIds.isEmpty()) {
+            eventPublisher.publishEvent(new BookingChangeEvent(bookingRepository.findPackageIdsByIds(paidIds)));
+        }
+    }
+    
+    private PaymentStatusResult result(PaymentStatusUpdate update, PaymentStatusResult.Outcome outcome) {
+        if (update == null) {
+            return new PaymentStatusResult(null, null, outcome);
+        }
+        return new PaymentStatusResult(update.getBookingReference(), update.getPaymentStatus(), outcome);
+    }
+}
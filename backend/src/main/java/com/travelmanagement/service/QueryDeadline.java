@@ -0,0 +1,46 @@
+package com.travelmanagement.service;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.function.Supplier;
+
+// The absolute deadline of the request the current thread works for, set by Bulkhead while a task
+// runs. Code that opens its own transaction (RequestCoalescer) reads it to bound that transaction too,
+// since a transaction with a timeout gives every JPA query in it the remaining time as its JDBC
+// query timeout.
+public final class QueryDeadline {
+    
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+    
+    private QueryDeadline() {
+    }
+    
+    static <T> T within(long deadlineMillis, Supplier<T> work) {
+        Long outer = DEADLINE.get();
+        DEADLINE.set(outer == null ? deadlineMillis : Math.min(outer, deadlineMillis));
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(outer);
+            }
+        }
+    }
+    
+    // Whole seconds left, rounded up (the JDBC timeout unit), or TIMEOUT_DEFAULT when the thread has
+    // no deadline. Throws once the deadline has passed, so no query starts after it.
+    public static int remainingSeconds() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return TransactionDefinition.TIMEOUT_DEFAULT;
+        }
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new TransactionTimedOutException("Request deadline passed before the query started");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000);
+    }
+}
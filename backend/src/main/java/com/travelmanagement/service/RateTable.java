@@ -0,0 +1,79 @@
+package com.travelmanagement.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Immutable snapshot of exchange rates, expressed as units of each currency per unit of the base.
+// CurrencyService swaps whole tables, so a conversion never mixes rates from two loads.
+public final class RateTable {
+    
+    private final String base;
+    private final Map<String, Double> rates;
+    private final Instant loadedAt;
+    
+    private RateTable(String base, Map<String, Double> rates, Instant loadedAt) {
+        this.base = base;
+        this.rates = Collections.unmodifiableMap(rates);
+        this.loadedAt = loadedAt;
+    }
+    
+    static RateTable baseOnly(String base) {
+        Map<String, Double> rates = new TreeMap<>();
+        rates.put(normalize(base), 1.0);
+        return new RateTable(normalize(base), rates, Instant.now());
+    }
+    
+    static RateTable fromProperties(String base, Properties properties) {
+        Map<String, Double> rates = new TreeMap<>();
+        for (String code : properties.stringPropertyNames()) {
+            double rate = Double.parseDouble(properties.getProperty(code).trim());
+            if (!(rate > 0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("Invalid rate for " + code + ": " + rate);
+            }
+            rates.put(normalize(code), rate);
+        }
+        String normalizedBase = normalize(base);
+        Double baseRate = rates.get(normalizedBase);
+        if (baseRate == null || baseRate != 1.0) {
+            throw new IllegalArgumentException("Rate table must define " + normalizedBase + "=1.0");
+        }
+        return new RateTable(normalizedBase, rates, Instant.now());
+    }
+    
+    public String getBase() {
+        return base;
+    }
+    
+    public Map<String, Double> getRates() {
+        return rates;
+    }
+    
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+    
+    public boolean supports(String currency) {
+        return currency != null && rates.containsKey(normalize(currency));
+    }
+    
+    // Multiplier turning an amount in "from" into "to", or NaN when either currency is unknown
+    public double factor(String from, String to) {
+        if (from == null || to == null) {
+            return Double.NaN;
+        }
+        Double fromRate = rates.get(normalize(from));
+        Double toRate = rates.get(normalize(to));
+        if (fromRate == null || toRate == null) {
+            return Double.NaN;
+        }
+        return toRate / fromRate;
+    }
+    
+    static String normalize(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
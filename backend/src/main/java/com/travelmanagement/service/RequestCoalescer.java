@@ -0,0 +1,102 @@
+package com.travelmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Single-flight for identical concurrent reads: the first caller for a key runs the query, callers that
+// arrive with the same key while it is in flight wait for it and get the same result. If the query fails
+// or misses the first caller's deadline, each waiting caller runs it again for itself rather than
+// inheriting a failure that may not apply to it. Nothing is cached; the key is released as soon as the
+// query finishes, so the next caller reads again. Callers must not hold a transaction while waiting, or a
+// herd of followers would pin the connection pool. The shared query runs in its own transaction on its
+// own entity manager, not the first caller's open-in-view one, so the entities it returns are detached
+// when it commits: they must be fully fetched by the query and must not be modified. When the caller
+// runs under a request deadline (see Bulkhead), the query's transaction times out with it.
+@Component
+public class RequestCoalescer {
+    
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter shared;
+    private final Counter retried;
+    
+    @Value("${travel.coalescing.enabled:true}")
+    private boolean enabled;
+    
+    public RequestCoalescer(PlatformTransactionManager transactionManager,
+                            EntityManagerFactory entityManagerFactory,
+                            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.executed = meterRegistry.counter("catalog.reads.coalescing", "result", "executed");
+        this.shared = meterRegistry.counter("catalog.reads.coalescing", "result", "shared");
+        this.retried = meterRegistry.counter("catalog.reads.coalescing", "result", "retried");
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> query) {
+        if (!enabled) {
+            return inTransaction(query);
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            try {
+                T result = (T) leader.join();
+                shared.increment();
+                return result;
+            } catch (CompletionException e) {
+                retried.increment();
+                return inTransaction(query);
+            }
+        }
+        
+        executed.increment();
+        try {
+            T result = detached(query);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    private <T> T detached(Supplier<T> query) {
+        Object requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            return inTransaction(query);
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+    
+    private <T> T inTransaction(Supplier<T> query) {
+        int timeout = QueryDeadline.remainingSeconds();
+        if (timeout == TransactionDefinition.TIMEOUT_DEFAULT) {
+            return transactionTemplate.execute(status -> query.get());
+        }
+        TransactionTemplate bounded = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        bounded.setTimeout(timeout);
+        return bounded.execute(status -> query.get());
+    }
+}
@@ -0,0 +1,207 @@
+package com.travelmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelmanagement.dto.SeatAvailability;
+import com.travelmanagement.event.BookingChangeEvent;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.exception.ServiceUnavailableException;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One in-process fan-out point for live seat counts. Booking writes only mark packages dirty;
+// every flush interval the dirty set is drained, seats for all dirty packages that have
+// subscribers are read with one grouped query, and each changed value is serialized once and
+// written to its subscribers. A burst of bookings therefore costs one event per package per
+// interval. Idle subscribers are parked async requests and hold no thread.
+@Service
+public class SeatAvailabilityBroadcaster {
+    
+    private final BookingRepository bookingRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final ObjectMapper objectMapper;
+    private final SeatHoldService seatHoldService;
+    
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> lastSent = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    
+    @Value("${travel.availability.max-subscribers:20000}")
+    private int maxSubscribers;
+    
+    @Value("${travel.availability.max-packages-per-subscription:100}")
+    private int maxPackagesPerSubscription;
+    
+    @Value("${travel.availability.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    
+    public SeatAvailabilityBroadcaster(BookingRepository bookingRepository,
+                                       TravelPackageRepository travelPackageRepository,
+                                       ObjectMapper objectMapper,
+                                       SeatHoldService seatHoldService,
+                                       MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.travelPackageRepository = travelPackageRepository;
+        this.objectMapper = objectMapper;
+        this.seatHoldService = seatHoldService;
+        meterRegistry.gauge("availability.subscribers", subscriberCount);
+    }
+    
+    // Registers a subscriber and sends it the current seats of every requested package right away
+    public SseEmitter subscribe(Collection<Long> packageIds) {
+        if (packageIds.isEmpty() || packageIds.size() > maxPackagesPerSubscription) {
+            throw new BadRequestException("Between 1 and " + maxPackagesPerSubscription + " package ids are required");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw ServiceUnavailableException.TOO_MANY_SUBSCRIBERS;
+        }
+        
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        List<Long> ids = List.copyOf(packageIds);
+        emitters.add(emitter);
+        for (Long id : ids) {
+            // compute keeps the add atomic with unsubscribe dropping an emptied set
+            subscribers.compute(id, (key, set) -> {
+                Set<SseEmitter> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+                target.add(emitter);
+                return target;
+            });
+        }
+        Runnable cleanup = () -> unsubscribe(emitter, ids);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(error -> cleanup.run());
+        
+        for (SeatAvailability availability : loadAvailability(ids)) {
+            if (!send(emitter, availability.getPackageId(), serialize(availability))) {
+                break;
+            }
+        }
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChange(BookingChangeEvent event) {
+        dirty.addAll(event.getPackageIds());
+    }
+    
+    // Capacity edits change availability too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getEntityType() == CatalogChangeEvent.EntityType.PACKAGE) {
+            dirty.add(event.getEntityId());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${travel.availability.flush-interval-ms:500}")
+    public void flush() {
+        // Drained through the iterator so ids marked during the flush are kept for the next one
+        List<Long> watched = new ArrayList<>();
+        for (Iterator<Long> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            Long id = iterator.next();
+            iterator.remove();
+            if (subscribers.containsKey(id)) {
+                watched.add(id);
+            } else {
+                lastSent.remove(id);
+            }
+        }
+        if (watched.isEmpty()) {
+            return;
+        }
+        
+        for (SeatAvailability availability : loadAvailability(watched)) {
+            Integer previous = lastSent.put(availability.getPackageId(), availability.getAvailableSeats());
+            if (availability.getAvailableSeats().equals(previous)) {
+                continue;
+            }
+            String payload = serialize(availability);
+            for (SseEmitter emitter : subscribers.getOrDefault(availability.getPackageId(), Set.of())) {
+                send(emitter, availability.getPackageId(), payload);
+            }
+        }
+    }
+    
+    // Comment lines keep idle connections open through proxies and surface dead clients
+    @Scheduled(fixedDelayString = "${travel.availability.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+    
+    private List<SeatAvailability> loadAvailability(Collection<Long> packageIds) {
+        Map<Long, Integer> booked = new HashMap<>();
+        for (Object[] row : bookingRepository.sumReservedParticipantsByPackageIds(packageIds)) {
+            booked.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        List<SeatAvailability> result = new ArrayList<>(packageIds.size());
+        for (Object[] row : travelPackageRepository.findMaxParticipantsByIds(packageIds)) {
+            Long id = (Long) row[0];
+            int max = row[1] == null ? 0 : (Integer) row[1];
+            int taken = booked.getOrDefault(id, 0);
+            // Seats held by checkouts in progress are not available to anyone else
+            int available = max - taken - seatHoldService.getHeldSeats(id);
+            result.add(new SeatAvailability(id, max, taken, Math.max(0, available)));
+        }
+        return result;
+    }
+    
+    private boolean send(SseEmitter emitter, Long packageId, String payload) {
+        try {
+            emitter.send(SseEmitter.event().name("availability").id(String.valueOf(packageId))
+                    .data(payload, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+    
+    private String serialize(SeatAvailability availability) {
+        try {
+            return objectMapper.writeValueAsString(availability);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seat availability", e);
+        }
+    }
+    
+    private void unsubscribe(SseEmitter emitter, List<Long> packageIds) {
+        if (!emitters.remove(emitter)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        for (Long id : packageIds) {
+            subscribers.computeIfPresent(id, (key, set) -> {
+                set.remove(emitter);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
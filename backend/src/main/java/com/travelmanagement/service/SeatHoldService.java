@@ -0,0 +1,247 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.SeatHold;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.BookingChangeEvent;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.exception.ConflictException;
+import com.travelmanagement.exception.NoSpaceException;
+import com.travelmanagement.exception.NotFoundException;
+import com.travelmanagement.exception.ServiceUnavailableException;
+import com.travelmanagement.index.HierarchicalTimingWheel;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Short-lived in-memory seat reservations taken while a user is in checkout. Held seats count
+// against a package's capacity like booked ones until the hold is confirmed into a booking,
+// released, or expires. Every capacity decision for a package, a hold here or a booking in
+// BookingService, is made under the package's row lock (lockPackage), so concurrent checkouts take
+// turns and cannot both take the last seats. Holds live only in this instance's memory, though:
+// another instance neither sees nor counts them, so with more than one instance a booking there can
+// take seats held here. Seat holds are therefore only sound on a single instance. Expiry runs on one
+// hierarchical timing wheel ticked by a scheduler, so a hold costs one O(1) wheel insert and an
+// O(1) unlink when it ends early, with no per-hold timer thread and no polling of the database.
+// Holds do not survive a restart; they are minutes long and the seats simply become free again.
+@Service
+public class SeatHoldService {
+    
+    // 4 levels of 256 slots span 2^32 ticks, far beyond any hold
+    private static final int WHEEL_SLOT_BITS = 8;
+    private static final int WHEEL_LEVELS = 4;
+    
+    private final BookingRepository bookingRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long tickMs;
+    
+    private final Map<String, ActiveHold> holds = new ConcurrentHashMap<>();
+    // Seats held on this instance only; see the class comment
+    private final Map<Long, Integer> heldSeats = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter created;
+    private final Counter confirmed;
+    private final Counter released;
+    private final Counter expired;
+    
+    // Guarded by lock
+    private final HierarchicalTimingWheel<String> wheel;
+    
+    @Value("${travel.holds.ttl:PT10M}")
+    private Duration ttl;
+    
+    @Value("${travel.holds.max-seats-per-hold:20}")
+    private int maxSeatsPerHold;
+    
+    @Value("${travel.holds.max-active:500000}")
+    private int maxActive;
+    
+    public SeatHoldService(BookingRepository bookingRepository,
+                           TravelPackageRepository travelPackageRepository,
+                           UserService userService,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${travel.holds.tick-ms:100}") long tickMs) {
+        this.bookingRepository = bookingRepository;
+        this.travelPackageRepository = travelPackageRepository;
+        this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tickMs = tickMs;
+        this.wheel = new HierarchicalTimingWheel<>(WHEEL_SLOT_BITS, WHEEL_LEVELS, System.currentTimeMillis() / tickMs);
+        this.created = meterRegistry.counter("seat.holds", "result", "created");
+        this.confirmed = meterRegistry.counter("seat.holds", "result", "confirmed");
+        this.released = meterRegistry.counter("seat.holds", "result", "released");
+        this.expired = meterRegistry.counter("seat.holds", "result", "expired");
+        meterRegistry.gaugeMapSize("seat.holds.active", List.of(), holds);
+    }
+    
+    public SeatHold hold(Long packageId, Long userId, Integer seats) {
+        if (packageId == null || userId == null || seats == null || seats < 1 || seats > maxSeatsPerHold) {
+            throw new BadRequestException("A package, a user and between 1 and " + maxSeatsPerHold + " seats are required");
+        }
+        if (holds.size() >= maxActive) {
+            throw ServiceUnavailableException.TOO_MANY_SEAT_HOLDS;
+        }
+        if (userService.getUserById(userId).isEmpty()) {
+            throw NotFoundException.USER;
+        }
+        
+        // The seats are added to the held count while the row lock is held; should the commit that
+        // releases it fail anyway, they are given back
+        AtomicBoolean reserved = new AtomicBoolean();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TravelPackage travelPackage = lockPackage(packageId);
+                if (seats > getAvailableSeats(travelPackage)) {
+                    throw NoSpaceException.INSTANCE;
+                }
+                heldSeats.merge(packageId, seats, Integer::sum);
+                reserved.set(true);
+            });
+        } catch (RuntimeException e) {
+            if (reserved.get()) {
+                returnSeats(packageId, seats);
+            }
+            throw e;
+        }
+        
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), packageId, userId, seats,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()));
+        lock.lock();
+        try {
+            HierarchicalTimingWheel.Timer<String> timer = wheel.schedule(hold.getId(), (expiresAt + tickMs - 1) / tickMs);
+            holds.put(hold.getId(), new ActiveHold(hold, timer));
+        } finally {
+            lock.unlock();
+        }
+        created.increment();
+        eventPublisher.publishEvent(BookingChangeEvent.forPackage(packageId));
+        return hold;
+    }
+    
+    public Optional<SeatHold> getHold(String id) {
+        return Optional.ofNullable(holds.get(id)).map(ActiveHold::hold);
+    }
+    
+    public void release(String id) {
+        SeatHold hold = take(id);
+        returnSeats(hold);
+        released.increment();
+        eventPublisher.publishEvent(BookingChangeEvent.forPackage(hold.getPackageId()));
+    }
+    
+    // Ends the hold for conversion into a booking: it can no longer expire or be released, but its
+    // seats stay reserved until settle is called once the booking is committed or rolled back
+    public SeatHold claim(String id) {
+        return take(id);
+    }
+    
+    public void settle(SeatHold hold) {
+        returnSeats(hold);
+        confirmed.increment();
+        eventPublisher.publishEvent(BookingChangeEvent.forPackage(hold.getPackageId()));
+    }
+    
+    // Locks the package row until the caller's transaction ends and returns the package. Seats are
+    // only counted with getAvailableSeats after this, so the count cannot change before they are taken.
+    // The lock is the transaction's first statement, so its snapshot sees every booking committed before.
+    public TravelPackage lockPackage(Long packageId) {
+        TravelPackage travelPackage = travelPackageRepository.findByIdForUpdate(packageId)
+                .orElseThrow(() -> NotFoundException.TRAVEL_PACKAGE);
+        if (!travelPackage.getIsActive()) {
+            throw ConflictException.PACKAGE_NOT_AVAILABLE;
+        }
+        return travelPackage;
+    }
+    
+    public int getHeldSeats(Long packageId) {
+        return heldSeats.getOrDefault(packageId, 0);
+    }
+    
+    // Seats neither booked (pending or confirmed) nor held
+    public int getAvailableSeats(TravelPackage travelPackage) {
+        return travelPackage.getMaxParticipants() - reservedSeats(travelPackage.getId()) - getHeldSeats(travelPackage.getId());
+    }
+    
+    @Scheduled(fixedDelayString = "${travel.holds.tick-ms:100}")
+    public void expire() {
+        List<String> due = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advance(System.currentTimeMillis() / tickMs, due::add);
+        } finally {
+            lock.unlock();
+        }
+        
+        Set<Long> packageIds = new HashSet<>();
+        for (String id : due) {
+            // A hold claimed or released concurrently has already left the map and keeps its seats
+            ActiveHold active = holds.remove(id);
+            if (active != null) {
+                returnSeats(active.hold());
+                packageIds.add(active.hold().getPackageId());
+                expired.increment();
+            }
+        }
+        if (!packageIds.isEmpty()) {
+            eventPublisher.publishEvent(new BookingChangeEvent(packageIds));
+        }
+    }
+    
+    private SeatHold take(String id) {
+        ActiveHold active = holds.remove(id);
+        if (active == null) {
+            throw NotFoundException.SEAT_HOLD;
+        }
+        lock.lock();
+        try {
+            wheel.cancel(active.timer());
+        } finally {
+            lock.unlock();
+        }
+        return active.hold();
+    }
+    
+    private void returnSeats(SeatHold hold) {
+        returnSeats(hold.getPackageId(), hold.getSeats());
+    }
+    
+    private void returnSeats(Long packageId, int seats) {
+        heldSeats.computeIfPresent(packageId, (id, held) -> held > seats ? held - seats : null);
+    }
+    
+    private int reservedSeats(Long packageId) {
+        List<Object[]> rows = bookingRepository.sumReservedParticipantsByPackageIds(List.of(packageId));
+        return rows.isEmpty() ? 0 : ((Number) rows.get(0)[1]).intValue();
+    }
+    
+    private record ActiveHold(SeatHold hold, HierarchicalTimingWheel.Timer<String> timer) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.User;
+import com.travelmanagement.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+// Backs the fields= parameter of the list endpoints: only the named columns are selected, so
+// unrequested TEXT columns are never read, and each row comes back as a map holding exactly
+// those fields. Names are the entity's JSON property names; "destination.name" style paths reach
+// one level into a many-to-one association. The id is always included.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SparseFieldService {
+    
+    private final EntityManager entityManager;
+    
+    public <T> List<Map<String, Object>> find(Class<T> type, String fields, Specification<T> filter) {
+        List<String> paths = parse(type, fields);
+        
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(type);
+        Map<String, Join<T, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                selections.add(root.get(path));
+            } else {
+                // Left joins keep rows whose association is null, like the full entity would
+                Join<T, ?> join = joins.computeIfAbsent(path.substring(0, dot),
+                        association -> root.join(association, JoinType.LEFT));
+                selections.add(join.get(path.substring(dot + 1)));
+            }
+        }
+        query.multiselect(selections);
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, criteriaBuilder));
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+        
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(toRow(paths, tuple::get));
+        }
+        return rows;
+    }
+    
+    // The same rows built from entities already in memory, e.g. bookings restored from the archive
+    public <T> List<Map<String, Object>> project(Class<T> type, String fields, List<T> entities) {
+        List<String> paths = parse(type, fields);
+        List<Map<String, Object>> rows = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            List<Object> values = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                int dot = path.indexOf('.');
+                // A null association reads as null fields, like the left join in find
+                boolean missing = dot >= 0 && bean.getPropertyValue(path.substring(0, dot)) == null;
+                values.add(missing ? null : bean.getPropertyValue(path));
+            }
+            rows.add(toRow(paths, values::get));
+        }
+        return rows;
+    }
+    
+    // Reorders rows to follow the given ids, e.g. a relevance ranking; rows for other ids are dropped
+    public static List<Map<String, Object>> orderByIds(List<Map<String, Object>> rows, List<Long> ids) {
+        Map<Object, Map<String, Object>> byId = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            byId.put(row.get("id"), row);
+        }
+        List<Map<String, Object>> ordered = new ArrayList<>(rows.size());
+        for (Long id : ids) {
+            Map<String, Object> row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+    
+    private List<String> parse(Class<?> type, String fields) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(type);
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add("id");
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                requireBasic(entityType, path, path);
+            } else {
+                Attribute<?, ?> association = attribute(entityType, path.substring(0, dot), path);
+                if (association.getPersistentAttributeType() != Attribute.PersistentAttributeType.MANY_TO_ONE
+                        && association.getPersistentAttributeType() != Attribute.PersistentAttributeType.ONE_TO_ONE) {
+                    throw new BadRequestException("Unknown field: " + path);
+                }
+                Class<?> target = association.getJavaType();
+                String nested = path.substring(dot + 1);
+                // Only the id of a user is ever exposed through another entity
+                if (target == User.class && !"id".equals(nested)) {
+                    throw new BadRequestException("Unknown field: " + path);
+                }
+                requireBasic(entityManager.getMetamodel().managedType(target), nested, path);
+            }
+            paths.add(path);
+        }
+        return new ArrayList<>(paths);
+    }
+    
+    private static void requireBasic(ManagedType<?> type, String name, String path) {
+        Attribute<?, ?> attribute = attribute(type, name, path);
+        if (!(attribute instanceof SingularAttribute)
+                || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new BadRequestException("Unknown field: " + path);
+        }
+    }
+    
+    private static Attribute<?, ?> attribute(ManagedType<?> type, String name, String path) {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown field: " + path);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toRow(List<String> paths, IntFunction<Object> values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                row.put(path, values.apply(i));
+            } else {
+                Map<String, Object> nested = (Map<String, Object>) row.computeIfAbsent(path.substring(0, dot),
+                        key -> new LinkedHashMap<String, Object>());
+                nested.put(path.substring(dot + 1), values.apply(i));
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,237 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.index.Suggestion;
+import com.travelmanagement.index.SuggestionTrie;
+import com.travelmanagement.index.TextNormalizer;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.DestinationRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestionService {
+    
+    private final DestinationRepository destinationRepository;
+    private final TravelPackageRepository travelPackageRepository;
+    private final BookingRepository bookingRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    @Value("${travel.suggest.top-k:10}")
+    private int topK;
+    
+    // Guarded by lock
+    private SuggestionIndex index;
+    private List<ScoredChange> changesDuringRebuild;
+    
+    public List<Suggestion> suggest(String query, Suggestion.Type type, int limit) {
+        String prefix = TextNormalizer.normalize(query);
+        int size = Math.min(Math.max(limit, 1), topK);
+        if (prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Collections.emptyList();
+            }
+            if (type != null) {
+                return index.tries.get(type).complete(prefix, size);
+            }
+            return merge(index.tries.get(Suggestion.Type.DESTINATION).complete(prefix, size),
+                    index.tries.get(Suggestion.Type.PACKAGE).complete(prefix, size), size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Full rebuild at startup and periodically to pick up popularity drift from new bookings;
+    // catalog writes made while the new index is being built are replayed onto it before the swap
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${travel.suggest.rebuild-interval-ms:600000}",
+               initialDelayString = "${travel.suggest.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        SuggestionIndex rebuilt;
+        try {
+            rebuilt = loadIndex();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            for (ScoredChange change : changesDuringRebuild) {
+                rebuilt.apply(change.event(), change.score());
+            }
+            changesDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggestion index built with {} destination and {} package keys",
+                rebuilt.tries.get(Suggestion.Type.DESTINATION).size(), rebuilt.tries.get(Suggestion.Type.PACKAGE).size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        long score = 0;
+        if (event.getChangeType() == CatalogChangeEvent.ChangeType.UPSERT) {
+            Long bookings = event.getEntityType() == CatalogChangeEvent.EntityType.DESTINATION
+                    ? bookingRepository.countConfirmedBookingsByDestinationId(event.getEntityId())
+                    : bookingRepository.countConfirmedBookingsByPackageId(event.getEntityId());
+            score = bookings == null ? 0 : bookings;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.apply(event, score);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new ScoredChange(event, score));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private SuggestionIndex loadIndex() {
+        Map<Long, Long> packageBookings = new HashMap<>();
+        for (Object[] row : bookingRepository.countConfirmedBookingsGroupedByPackage()) {
+            packageBookings.put((Long) row[0], (Long) row[1]);
+        }
+        
+        SuggestionIndex rebuilt = new SuggestionIndex(topK);
+        Map<Long, Long> destinationBookings = new HashMap<>();
+        for (TravelPackage travelPackage : travelPackageRepository.findByIsActiveTrue()) {
+            long score = packageBookings.getOrDefault(travelPackage.getId(), 0L);
+            rebuilt.indexPackage(travelPackage, score);
+            if (travelPackage.getDestination() != null) {
+                destinationBookings.merge(travelPackage.getDestination().getId(), score, Long::sum);
+            }
+        }
+        for (Destination destination : destinationRepository.findByIsActiveTrue()) {
+            rebuilt.indexDestination(destination, destinationBookings.getOrDefault(destination.getId(), 0L));
+        }
+        return rebuilt;
+    }
+    
+    private static List<Suggestion> merge(List<Suggestion> first, List<Suggestion> second, int limit) {
+        List<Suggestion> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j >= second.size() || (i < first.size() && first.get(i).rankAgainst(second.get(j)) <= 0)) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+    
+    private record ScoredChange(CatalogChangeEvent event, long score) {
+    }
+    
+    private record IndexedItem(Suggestion suggestion, Set<String> keys) {
+    }
+    
+    private static final class SuggestionIndex {
+        
+        private final Map<Suggestion.Type, SuggestionTrie> tries = new EnumMap<>(Suggestion.Type.class);
+        private final Map<Suggestion.Type, Map<Long, IndexedItem>> items = new EnumMap<>(Suggestion.Type.class);
+        
+        private SuggestionIndex(int topK) {
+            for (Suggestion.Type type : Suggestion.Type.values()) {
+                tries.put(type, new SuggestionTrie(topK));
+                items.put(type, new HashMap<>());
+            }
+        }
+        
+        private void apply(CatalogChangeEvent event, long score) {
+            boolean destination = event.getEntityType() == CatalogChangeEvent.EntityType.DESTINATION;
+            if (event.getChangeType() == CatalogChangeEvent.ChangeType.DELETE) {
+                remove(destination ? Suggestion.Type.DESTINATION : Suggestion.Type.PACKAGE, event.getEntityId());
+            } else if (destination) {
+                indexDestination(event.getDestination(), score);
+            } else {
+                indexPackage(event.getTravelPackage(), score);
+            }
+        }
+        
+        private void indexDestination(Destination destination, long score) {
+            remove(Suggestion.Type.DESTINATION, destination.getId());
+            if (!Boolean.TRUE.equals(destination.getIsActive())) {
+                return;
+            }
+            Set<String> keys = new LinkedHashSet<>(TextNormalizer.wordSuffixes(destination.getName()));
+            keys.addAll(TextNormalizer.wordSuffixes(destination.getCity()));
+            keys.addAll(TextNormalizer.wordSuffixes(destination.getCountry()));
+            add(new Suggestion(Suggestion.Type.DESTINATION, destination.getId(),
+                    destination.getName() + ", " + destination.getCountry(), score), keys);
+        }
+        
+        private void indexPackage(TravelPackage travelPackage, long score) {
+            remove(Suggestion.Type.PACKAGE, travelPackage.getId());
+            if (!Boolean.TRUE.equals(travelPackage.getIsActive())) {
+                return;
+            }
+            Set<String> keys = new LinkedHashSet<>(TextNormalizer.wordSuffixes(travelPackage.getName()));
+            add(new Suggestion(Suggestion.Type.PACKAGE, travelPackage.getId(), travelPackage.getName(), score), keys);
+        }
+        
+        private void add(Suggestion suggestion, Set<String> keys) {
+            SuggestionTrie trie = tries.get(suggestion.type());
+            for (String key : keys) {
+                trie.insert(key, suggestion);
+            }
+            items.get(suggestion.type()).put(suggestion.id(), new IndexedItem(suggestion, keys));
+        }
+        
+        private void remove(Suggestion.Type type, Long id) {
+            IndexedItem existing = items.get(type).remove(id);
+            if (existing == null) {
+                return;
+            }
+            SuggestionTrie trie = tries.get(type);
+            for (String key : existing.keys()) {
+                trie.remove(key, existing.suggestion());
+            }
+        }
+    }
+}
@@ -1,14 +1,33 @@
 package com.travelmanagement.service;
 
+import com.travelmanagement.dto.BatchResult;
 import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.entity.TravelPackageDetails;
+import com.travelmanagement.event.CatalogChangeEvent;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.exception.ConflictException;
+import com.travelmanagement.exception.NoSpaceException;
+import com.travelmanagement.exception.NotFoundException;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.TravelPackageDetailsRepository;
 import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.repository.TravelPackageSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -16,54 +35,194 @@ import java.util.Optional;
 public class TravelPackageService {
     
     private final TravelPackageRepository travelPackageRepository;
+    private final TravelPackageDetailsRepository travelPackageDetailsRepository;
+    private final BookingRepository bookingRepository;
+    private final ChangeOutboxService changeOutboxService;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FuzzySearchService fuzzySearchService;
+    private final CatalogColumnStore catalogColumnStore;
+    private final CurrencyService currencyService;
+    private final SparseFieldService sparseFieldService;
+    private final RequestCoalescer requestCoalescer;
+    private final BatchLookup batchLookup;
+    
+    @Value("${travel.packages.capacity-locking:optimistic}")
+    private CapacityLocking capacityLocking;
     
     public List<TravelPackage> getAllPackages() {
         return travelPackageRepository.findAll();
     }
     
+    // The list reads below run without a transaction of their own: identical concurrent calls share one
+    // query through the RequestCoalescer, which opens the transaction for the caller that runs it
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> getActivePackages() {
-        return travelPackageRepository.findByIsActiveTrue();
+        return requestCoalescer.execute(List.of("packages.active"), travelPackageRepository::findByIsActiveTrue);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> getFeaturedPackages() {
-        return travelPackageRepository.findByIsFeaturedTrueAndIsActiveTrue();
+        return requestCoalescer.execute(List.of("packages.featured"), () -> {
+            if (catalogColumnStore.isReady()) {
+                return catalogColumnStore.findFeaturedPackages();
+            }
+            return travelPackageRepository.findByIsFeaturedTrueAndIsActiveTrue();
+        });
     }
     
     public Optional<TravelPackage> getPackageById(Long id) {
         return travelPackageRepository.findById(id);
     }
     
+    public List<TravelPackage> getPackagesByIds(Collection<Long> ids) {
+        return travelPackageRepository.findByIdIn(ids);
+    }
+    
+    // For wishlists and comparison views: any number of packages by id in one query
+    public BatchResult<TravelPackage> getPackagesInRequestOrder(List<Long> ids) {
+        return batchLookup.resolve(ids, travelPackageRepository::findByIdIn, TravelPackage::getId);
+    }
+    
+    // The package together with its long text fields, for the detail endpoint
+    public Optional<TravelPackage> getPackageWithDetails(Long id) {
+        return travelPackageRepository.findById(id).map(travelPackage -> {
+            travelPackageDetailsRepository.findById(id).ifPresent(details -> details.applyTo(travelPackage));
+            return travelPackage;
+        });
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> getPackagesByDestination(Long destinationId) {
-        return travelPackageRepository.findByDestinationId(destinationId);
+        return requestCoalescer.execute(List.of("packages.destination", destinationId),
+                () -> travelPackageRepository.findByDestinationId(destinationId));
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> getPackagesByType(TravelPackage.PackageType packageType) {
-        return travelPackageRepository.findByPackageType(packageType);
+        return requestCoalescer.execute(List.of("packages.type", packageType),
+                () -> travelPackageRepository.findByPackageType(packageType));
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> getAvailablePackages(LocalDate startDate) {
-        return travelPackageRepository.findAvailablePackages(startDate);
+        return requestCoalescer.execute(List.of("packages.available", startDate), () -> {
+            if (catalogColumnStore.isReady()) {
+                return catalogColumnStore.findPackagesStartingFrom(startDate);
+            }
+            return travelPackageRepository.findAvailablePackages(startDate);
+        });
     }
     
-    public List<TravelPackage> getPackagesByPriceRange(Double minPrice, Double maxPrice) {
-        return travelPackageRepository.findByPriceRange(minPrice, maxPrice);
+    // Bounds are in the given currency (base currency when null) and compared against converted prices
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TravelPackage> getPackagesByPriceRange(Double minPrice, Double maxPrice, String currency) {
+        String target = currencyService.requireSupported(currency == null ? currencyService.getBaseCurrency() : currency);
+        return requestCoalescer.execute(List.of("packages.price", minPrice, maxPrice, target), () -> {
+            if (catalogColumnStore.isReady()) {
+                return catalogColumnStore.findPackagesByPriceRange(minPrice, maxPrice, target);
+            }
+            return travelPackageRepository.findAll(
+                    TravelPackageSpecifications.priceWithin(currencyService.boundsByCurrency(minPrice, maxPrice, target)));
+        });
     }
     
+    // The search is case-insensitive, so terms differing only in case share a query
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> searchPackages(String searchTerm) {
-        return travelPackageRepository.searchPackages(searchTerm);
+        return requestCoalescer.execute(List.of("packages.search", searchTerm.toLowerCase(Locale.ROOT)),
+                () -> findPackages(searchTerm));
     }
     
+    private List<TravelPackage> findPackages(String searchTerm) {
+        List<TravelPackage> packages = travelPackageRepository.searchPackages(searchTerm);
+        if (!packages.isEmpty()) {
+            return packages;
+        }
+        // Nothing contains the term verbatim; fall back to typo-tolerant matching, best match first
+        List<Long> ids = fuzzySearchService.matchPackages(searchTerm);
+        if (ids.isEmpty()) {
+            return packages;
+        }
+        Map<Long, TravelPackage> byId = travelPackageRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(TravelPackage::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TravelPackage> getAvailablePackagesWithSpace() {
-        return travelPackageRepository.findAvailablePackagesWithSpace();
+        return requestCoalescer.execute(List.of("packages.space"), () -> {
+            if (catalogColumnStore.isReady()) {
+                return catalogColumnStore.findPackagesWithSpace();
+            }
+            return travelPackageRepository.findAvailablePackagesWithSpace();
+        });
+    }
+    
+    // Sparse fieldset variants of the list methods above: same filters, only the named fields are read
+    public List<Map<String, Object>> getActivePackageFields(String fields) {
+        return sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.active());
+    }
+    
+    public List<Map<String, Object>> getFeaturedPackageFields(String fields) {
+        return sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.featured());
+    }
+    
+    public List<Map<String, Object>> getPackageFieldsByDestination(Long destinationId, String fields) {
+        return sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.byDestination(destinationId));
+    }
+    
+    public List<Map<String, Object>> getPackageFieldsByType(TravelPackage.PackageType packageType, String fields) {
+        return sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.byType(packageType));
+    }
+    
+    public List<Map<String, Object>> getAvailablePackageFields(LocalDate startDate, String fields) {
+        return sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.startingFrom(startDate));
+    }
+    
+    public List<Map<String, Object>> getAvailablePackageFieldsWithSpace(String fields) {
+        return sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.withSpace());
+    }
+    
+    public List<Map<String, Object>> getPackageFieldsByPriceRange(Double minPrice, Double maxPrice, String currency, String fields) {
+        String target = currencyService.requireSupported(currency == null ? currencyService.getBaseCurrency() : currency);
+        return sparseFieldService.find(TravelPackage.class, fields,
+                TravelPackageSpecifications.priceWithin(currencyService.boundsByCurrency(minPrice, maxPrice, target)));
+    }
+    
+    public List<Map<String, Object>> searchPackageFields(String searchTerm, String fields) {
+        List<Map<String, Object>> rows = sparseFieldService.find(TravelPackage.class, fields,
+                TravelPackageSpecifications.search(searchTerm));
+        if (!rows.isEmpty()) {
+            return rows;
+        }
+        List<Long> ids = fuzzySearchService.matchPackages(searchTerm);
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        return SparseFieldService.orderByIds(
+                sparseFieldService.find(TravelPackage.class, fields, TravelPackageSpecifications.idIn(ids)), ids);
     }
     
     public TravelPackage createPackage(TravelPackage travelPackage) {
-        return travelPackageRepository.save(travelPackage);
+        TravelPackage saved = travelPackageRepository.save(travelPackage);
+        travelPackageDetailsRepository.save(TravelPackageDetails.of(saved));
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(saved));
+        return saved;
     }
     
+    // The client sends the version its edit was made on. An edit against an older version is
+    // rejected rather than retried, since retrying would overwrite a change the client never saw;
+    // @Version catches a change that lands between this read and the commit.
     public TravelPackage updatePackage(Long id, TravelPackage packageDetails) {
+        if (packageDetails.getVersion() == null) {
+            throw new BadRequestException("version is required");
+        }
         TravelPackage travelPackage = travelPackageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Travel package not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.TRAVEL_PACKAGE);
+        if (!packageDetails.getVersion().equals(travelPackage.getVersion())) {
+            throw ConflictException.STALE_PACKAGE_VERSION;
+        }
         
         travelPackage.setName(packageDetails.getName());
         travelPackage.setDescription(packageDetails.getDescription());
@@ -80,32 +239,60 @@ public class TravelPackageService {
         travelPackage.setIsFeatured(packageDetails.getIsFeatured());
         travelPackage.setIsActive(packageDetails.getIsActive());
         
-        return travelPackageRepository.save(travelPackage);
+        TravelPackage saved = travelPackageRepository.save(travelPackage);
+        travelPackageDetailsRepository.save(TravelPackageDetails.of(saved));
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(saved));
+        return saved;
     }
     
     public void deletePackage(Long id) {
         TravelPackage travelPackage = travelPackageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Travel package not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.TRAVEL_PACKAGE);
+        // Its bookings go with it through the cascade, which records nothing for them
+        changeOutboxService.recordBookingsDeleted(bookingRepository.findIdsByPackageIds(List.of(id)));
         travelPackageRepository.delete(travelPackage);
+        travelPackageDetailsRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangeEvent.packageDeleted(id));
     }
     
     public void togglePackageStatus(Long id) {
         TravelPackage travelPackage = travelPackageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Travel package not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.TRAVEL_PACKAGE);
         travelPackage.setIsActive(!travelPackage.getIsActive());
         travelPackageRepository.save(travelPackage);
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(travelPackage));
     }
     
+    // SUPPORTS, so a caller's transaction is joined and retried by its own boundary; called on its
+    // own, the retry executor opens a transaction per attempt
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateParticipantCount(Long packageId, int participants) {
-        TravelPackage travelPackage = travelPackageRepository.findById(packageId)
-                .orElseThrow(() -> new RuntimeException("Travel package not found with id: " + packageId));
+        retryExecutor.run(() -> applyParticipantDelta(packageId, participants));
+    }
+    
+    private void applyParticipantDelta(Long packageId, int participants) {
+        TravelPackage travelPackage = findForCapacityUpdate(packageId);
         
         int newCount = travelPackage.getCurrentParticipants() + participants;
         if (newCount > travelPackage.getMaxParticipants()) {
-            throw new RuntimeException("Not enough space available for this package");
+            throw NoSpaceException.INSTANCE;
         }
         
         travelPackage.setCurrentParticipants(newCount);
         travelPackageRepository.save(travelPackage);
+        eventPublisher.publishEvent(CatalogChangeEvent.upserted(travelPackage));
+    }
+    
+    // Pessimistic mode takes a row lock up front; optimistic mode relies on @Version and the retry executor
+    private TravelPackage findForCapacityUpdate(Long id) {
+        return (capacityLocking == CapacityLocking.PESSIMISTIC
+                    ? travelPackageRepository.findByIdForUpdate(id)
+                    : travelPackageRepository.findById(id))
+                .orElseThrow(() -> NotFoundException.TRAVEL_PACKAGE);
+    }
+    
+    enum CapacityLocking {
+        OPTIMISTIC,
+        PESSIMISTIC
     }
 }
@@ -1,12 +1,15 @@
 package com.travelmanagement.service;
 
 import com.travelmanagement.entity.User;
+import com.travelmanagement.exception.ConflictException;
+import com.travelmanagement.exception.NotFoundException;
 import com.travelmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +29,10 @@ public class UserService {
         return userRepository.findById(id);
     }
     
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+    
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -36,10 +43,10 @@ public class UserService {
     
     public User createUser(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
-            throw new RuntimeException("Username already exists");
+            throw ConflictException.USERNAME_TAKEN;
         }
         if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("Email already exists");
+            throw ConflictException.EMAIL_TAKEN;
         }
         
         user.setPassword(passwordEncoder.encode(user.getPassword()));
@@ -48,16 +55,16 @@ public class UserService {
     
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.USER);
         
         if (!user.getUsername().equals(userDetails.getUsername()) && 
             userRepository.existsByUsername(userDetails.getUsername())) {
-            throw new RuntimeException("Username already exists");
+            throw ConflictException.USERNAME_TAKEN;
         }
         
         if (!user.getEmail().equals(userDetails.getEmail()) && 
             userRepository.existsByEmail(userDetails.getEmail())) {
-            throw new RuntimeException("Email already exists");
+            throw ConflictException.EMAIL_TAKEN;
         }
         
         user.setUsername(userDetails.getUsername());
@@ -76,7 +83,7 @@ public class UserService {
     
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+                .orElseThrow(() -> NotFoundException.USER);
         userRepository.delete(user);
     }
     
@@ -0,0 +1,116 @@
+-- Schema as previously generated by hibernate.ddl-auto=update. Constraint names are Hibernate's, so
+-- databases created that way and databases created from this script end up identical; IF NOT EXISTS
+-- makes this a no-op on the former.
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) DEFAULT NULL,
+    email varchar(255) NOT NULL,
+    first_name varchar(255) NOT NULL,
+    last_name varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    phone_number varchar(255) DEFAULT NULL,
+    role enum('USER','ADMIN') NOT NULL,
+    updated_at datetime(6) DEFAULT NULL,
+    username varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY UK_6dotkott2kjsp8vw4d0m25fb7 (email),
+    UNIQUE KEY UK_r43af9ap4edm43mmtq01oddj6 (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS destinations (
+    id bigint NOT NULL AUTO_INCREMENT,
+    best_time_to_visit varchar(255) DEFAULT NULL,
+    city varchar(255) NOT NULL,
+    climate varchar(255) DEFAULT NULL,
+    country varchar(255) NOT NULL,
+    created_at datetime(6) DEFAULT NULL,
+    currency varchar(255) NOT NULL,
+    image_url varchar(255) DEFAULT NULL,
+    is_active bit(1) DEFAULT NULL,
+    is_featured bit(1) DEFAULT NULL,
+    latitude double DEFAULT NULL,
+    longitude double DEFAULT NULL,
+    name varchar(255) NOT NULL,
+    price double NOT NULL,
+    updated_at datetime(6) DEFAULT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS destination_details (
+    destination_id bigint NOT NULL,
+    description mediumblob DEFAULT NULL,
+    popular_attractions mediumblob DEFAULT NULL,
+    PRIMARY KEY (destination_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS travel_packages (
+    id bigint NOT NULL AUTO_INCREMENT,
+    created_at datetime(6) DEFAULT NULL,
+    currency varchar(255) NOT NULL,
+    current_participants int DEFAULT NULL,
+    end_date date NOT NULL,
+    is_active bit(1) DEFAULT NULL,
+    is_featured bit(1) DEFAULT NULL,
+    max_participants int DEFAULT NULL,
+    name varchar(255) NOT NULL,
+    package_type enum('BUDGET','STANDARD','LUXURY','PREMIUM') DEFAULT NULL,
+    price double NOT NULL,
+    start_date date NOT NULL,
+    updated_at datetime(6) DEFAULT NULL,
+    version bigint DEFAULT NULL,
+    destination_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    KEY FK1sgxc2gnfrcy2j45pravv3g4n (destination_id),
+    CONSTRAINT FK1sgxc2gnfrcy2j45pravv3g4n FOREIGN KEY (destination_id) REFERENCES destinations (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS travel_package_details (
+    package_id bigint NOT NULL,
+    description mediumblob DEFAULT NULL,
+    excludes mediumblob DEFAULT NULL,
+    includes mediumblob DEFAULT NULL,
+    itinerary mediumblob DEFAULT NULL,
+    PRIMARY KEY (package_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id bigint NOT NULL AUTO_INCREMENT,
+    booking_date datetime(6) DEFAULT NULL,
+    booking_reference varchar(255) DEFAULT NULL,
+    booking_status enum('PENDING','CONFIRMED','CANCELLED','COMPLETED') NOT NULL,
+    created_at datetime(6) DEFAULT NULL,
+    currency varchar(255) NOT NULL,
+    number_of_participants int NOT NULL,
+    payment_status enum('PENDING','PAID','REFUNDED','FAILED') NOT NULL,
+    special_requests text DEFAULT NULL,
+    total_price double NOT NULL,
+    updated_at datetime(6) DEFAULT NULL,
+    package_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY UK_e92mgyq35mdeo8gc1un2o6uk0 (booking_reference),
+    KEY FKfyymap1ru3acpb7n28vo043wy (package_id),
+    KEY FKeyog2oic85xg7hsu2je2lx3s6 (user_id),
+    CONSTRAINT FKeyog2oic85xg7hsu2je2lx3s6 FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT FKfyymap1ru3acpb7n28vo043wy FOREIGN KEY (package_id) REFERENCES travel_packages (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS change_outbox (
+    id bigint NOT NULL AUTO_INCREMENT,
+    change_type enum('UPSERT','DELETE') NOT NULL,
+    created_at datetime(6) NOT NULL,
+    entity_id bigint NOT NULL,
+    entity_type enum('DESTINATION','PACKAGE','BOOKING') NOT NULL,
+    payload text DEFAULT NULL,
+    sequence_number bigint DEFAULT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_change_outbox_sequence (sequence_number),
+    KEY idx_change_outbox_created_at (created_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS change_feed_state (
+    id bigint NOT NULL,
+    last_sequence bigint NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
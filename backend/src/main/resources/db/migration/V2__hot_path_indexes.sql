@@ -0,0 +1,36 @@
+-- One index per repository query shape; equality columns first, then the range or sort column.
+-- repository/QueryPlanTest EXPLAINs the same queries and fails on a full scan with no usable index.
+
+-- findByUserId, findConfirmedBookingsByUserId
+CREATE INDEX idx_bookings_user_status ON bookings (user_id, booking_status);
+-- countConfirmedBookingsByPackageId, sumConfirmedParticipantsByPackageIds (covering),
+-- countConfirmedBookingsByDestinationId (join side)
+CREATE INDEX idx_bookings_package_status ON bookings (package_id, booking_status, number_of_participants);
+-- findByBookingStatus, countConfirmedBookingsGroupedByPackage, expiry scan and its oldest-date probe
+CREATE INDEX idx_bookings_status_payment_date ON bookings (booking_status, payment_status, booking_date);
+-- findByPaymentStatus
+CREATE INDEX idx_bookings_payment_status ON bookings (payment_status);
+-- findByBookingDateRange
+CREATE INDEX idx_bookings_booking_date ON bookings (booking_date);
+
+-- findAvailablePackages
+CREATE INDEX idx_packages_active_start_date ON travel_packages (is_active, start_date);
+-- priceWithin specification (price-range fallback); range on price per currency
+CREATE INDEX idx_packages_active_price ON travel_packages (is_active, price);
+-- findByIsFeaturedTrueAndIsActiveTrue
+CREATE INDEX idx_packages_featured_active ON travel_packages (is_featured, is_active);
+-- findByDestinationIdInAndIsActiveTrue; findByDestinationId uses its prefix
+CREATE INDEX idx_packages_destination_active ON travel_packages (destination_id, is_active);
+-- findByPackageType
+CREATE INDEX idx_packages_type ON travel_packages (package_type);
+
+-- priceWithin specification (price-range fallback); range on price per currency
+CREATE INDEX idx_destinations_active_price ON destinations (is_active, price);
+-- findByIsFeaturedTrueAndIsActiveTrue
+CREATE INDEX idx_destinations_featured_active ON destinations (is_featured, is_active);
+-- findByCountry, findByCity, findByName
+CREATE INDEX idx_destinations_country ON destinations (country);
+CREATE INDEX idx_destinations_city ON destinations (city);
+CREATE INDEX idx_destinations_name ON destinations (name);
+
+-- UserRepository's finders are served by the unique keys on username and email from V1
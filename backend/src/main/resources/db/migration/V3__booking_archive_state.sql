@@ -0,0 +1,9 @@
+-- Single row leasing the booking archive job to one instance at a time; see BookingArchiveJob.
+CREATE TABLE IF NOT EXISTS booking_archive_state (
+    id bigint NOT NULL,
+    locked_by varchar(64) DEFAULT NULL,
+    locked_until datetime(6) DEFAULT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO booking_archive_state (id) VALUES (1);
@@ -0,0 +1,118 @@
+package com.travelmanagement.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.travelmanagement.dto.TravelPackageResponse;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.mapper.ResponseMapperImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+// Size and encode/decode time of a /api/packages response body in each negotiated format. The
+// mappers are built the way BinaryContentConfig builds them. Run with mvn test -Pbenchmark.
+@Tag("benchmark")
+class BinaryContentBenchmark {
+    
+    private static final String[] CITIES = {"Paris", "Kyoto", "Cape Town", "Reykjavik", "Lima", "Queenstown", "Marrakesh", "Hanoi"};
+    private static final int ROUNDS = 10;
+    
+    @Test
+    void encodeAndDecodePackageLists() throws Exception {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        mappers.put("smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        
+        System.out.printf("%5s  %-6s %9s %8s %10s %10s%n", "items", "format", "bytes", "gzip", "write us", "read us");
+        for (int items : new int[]{20, 100, 1000}) {
+            List<TravelPackageResponse> packages = new ResponseMapperImpl().toPackageResponses(packages(items));
+            for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+                ObjectMapper mapper = entry.getValue();
+                JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, TravelPackageResponse.class);
+                byte[] bytes = mapper.writeValueAsBytes(packages);
+                int iterations = Math.max(200, 200_000 / items);
+                for (int i = 0; i < iterations * 3; i++) {
+                    mapper.writeValueAsBytes(packages);
+                    mapper.readValue(bytes, type);
+                }
+                
+                double write = Double.MAX_VALUE;
+                double read = Double.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) {
+                        mapper.writeValueAsBytes(packages);
+                    }
+                    long written = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) {
+                        mapper.readValue(bytes, type);
+                    }
+                    write = Math.min(write, (written - start) / 1e3 / iterations);
+                    read = Math.min(read, (System.nanoTime() - written) / 1e3 / iterations);
+                }
+                System.out.printf("%5d  %-6s %9d %8d %10.1f %10.1f%n", items, entry.getKey(), bytes.length, gzipped(bytes), write, read);
+            }
+        }
+    }
+    
+    private static int gzipped(byte[] bytes) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.size();
+    }
+    
+    private static List<TravelPackage> packages(int count) {
+        Random random = new Random(42);
+        List<Destination> destinations = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Destination destination = new Destination();
+            destination.setId(i + 1L);
+            destination.setName(CITIES[i % CITIES.length] + " Explorer " + i);
+            destination.setCountry("Country " + (i % 20));
+            destination.setCity(CITIES[i % CITIES.length]);
+            destination.setImageUrl("https://images.example.com/destinations/" + (i + 1) + ".jpg");
+            destination.setPrice(500 + random.nextInt(5000) + random.nextInt(100) / 100.0);
+            destination.setBestTimeToVisit("April to June");
+            destination.setClimate("Temperate");
+            destination.setLatitude(random.nextDouble() * 180 - 90);
+            destination.setLongitude(random.nextDouble() * 360 - 180);
+            destination.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 30).plusMinutes(i));
+            destination.setUpdatedAt(destination.getCreatedAt());
+            destinations.add(destination);
+        }
+        List<TravelPackage> packages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TravelPackage travelPackage = new TravelPackage();
+            travelPackage.setId(i + 1L);
+            travelPackage.setName("Package " + i + " " + CITIES[i % CITIES.length]);
+            travelPackage.setDestination(destinations.get(i % destinations.size()));
+            travelPackage.setStartDate(LocalDate.of(2025, 1, 1).plusDays(i % 300));
+            travelPackage.setEndDate(travelPackage.getStartDate().plusDays(7));
+            travelPackage.setPrice(300 + random.nextInt(8000) + random.nextInt(100) / 100.0);
+            travelPackage.setMaxParticipants(20 + random.nextInt(30));
+            travelPackage.setCurrentParticipants(random.nextInt(20));
+            travelPackage.setPackageType(TravelPackage.PackageType.values()[i % TravelPackage.PackageType.values().length]);
+            travelPackage.setCreatedAt(LocalDateTime.of(2024, 6, 1, 12, 0).plusMinutes(i));
+            travelPackage.setUpdatedAt(travelPackage.getCreatedAt());
+            travelPackage.setVersion(3L);
+            packages.add(travelPackage);
+        }
+        return packages;
+    }
+}
@@ -0,0 +1,143 @@
+package com.travelmanagement.config;
+
+import com.travelmanagement.entity.CompressedTextConverter;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// What moving the long package text out of travel_packages buys, with the synthetic generator's
+// text: stored bytes per package through CompressedTextConverter, InnoDB data size and full-scan
+// time of the narrow table against a copy that keeps the text inline, and heap per list entity
+// with and without the text loaded. Run with mvn test -Pbenchmark.
+@Tag("benchmark")
+class CatalogDetailsBenchmark extends EmbeddedDatabaseTest {
+    
+    private static final int PACKAGES = 20_000;
+    private static final int SCAN_ROUNDS = 10;
+    private static final String[] LOREM = {
+            "beach", "temple", "tour", "museum", "hotel", "breakfast", "transfer", "guide", "sunset", "market",
+            "cruise", "hike", "old", "town", "local", "cuisine", "view", "island", "castle", "garden"
+    };
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void dropScratchTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_packages_narrow, bench_packages_inline");
+    }
+    
+    @Test
+    void compareLayouts() throws Exception {
+        List<String[]> texts = new ArrayList<>(PACKAGES);
+        SplittableRandom random = new SplittableRandom(42);
+        long raw = 0;
+        long stored = 0;
+        for (int i = 0; i < PACKAGES; i++) {
+            String[] text = {"Synthetic package " + i + ". " + filler(random, 40), filler(random, 15),
+                    filler(random, 10), filler(random, 80)};
+            for (String value : text) {
+                raw += value.length();
+                stored += CompressedTextConverter.encode(value).length;
+            }
+            texts.add(text);
+        }
+        System.out.printf("text per package: %d bytes raw, %d bytes stored (%.2fx)%n",
+                raw / PACKAGES, stored / PACKAGES, raw / (double) stored);
+        // The first pass of each only warms up
+        heapPerEntity(texts, false);
+        heapPerEntity(texts, true);
+        System.out.printf("heap per list entity: %d bytes without the text, %d bytes with it loaded%n",
+                heapPerEntity(texts, false), heapPerEntity(texts, true));
+        
+        jdbcTemplate.execute("CREATE TABLE bench_packages_narrow LIKE travel_packages");
+        jdbcTemplate.execute("CREATE TABLE bench_packages_inline LIKE travel_packages");
+        jdbcTemplate.execute("ALTER TABLE bench_packages_inline ADD COLUMN description text, ADD COLUMN includes text, "
+                + "ADD COLUMN excludes text, ADD COLUMN itinerary text");
+        List<Object[]> narrowRows = new ArrayList<>(PACKAGES);
+        List<Object[]> inlineRows = new ArrayList<>(PACKAGES);
+        for (int i = 0; i < PACKAGES; i++) {
+            Object[] row = {i + 1L, "Package " + i, 1L, 1000.0 + i, "USD", 30, 0, "STANDARD"};
+            narrowRows.add(row);
+            String[] text = texts.get(i);
+            inlineRows.add(new Object[]{row[0], row[1], row[2], row[3], row[4], row[5], row[6], row[7],
+                    text[0], text[1], text[2], text[3]});
+        }
+        String columns = "id, name, destination_id, price, currency, max_participants, current_participants, package_type, "
+                + "start_date, end_date, is_active, is_featured, created_at, updated_at, version";
+        String values = "?, ?, ?, ?, ?, ?, ?, ?, CURDATE(), CURDATE(), 1, 0, NOW(6), NOW(6), 0";
+        jdbcTemplate.batchUpdate("INSERT INTO bench_packages_narrow (" + columns + ") VALUES (" + values + ")", narrowRows);
+        jdbcTemplate.batchUpdate("INSERT INTO bench_packages_inline (" + columns + ", description, includes, excludes, itinerary) "
+                + "VALUES (" + values + ", ?, ?, ?, ?)", inlineRows);
+        
+        for (String table : List.of("bench_packages_narrow", "bench_packages_inline")) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+            Map<String, Object> size = jdbcTemplate.queryForMap("SELECT data_length FROM information_schema.tables "
+                    + "WHERE table_schema = DATABASE() AND table_name = ?", table);
+            long dataLength = ((Number) size.get("data_length")).longValue();
+            long bestMicros = Long.MAX_VALUE;
+            for (int round = 0; round < SCAN_ROUNDS; round++) {
+                long start = System.nanoTime();
+                jdbcTemplate.query("SELECT * FROM " + table, resultSet -> {
+                });
+                bestMicros = Math.min(bestMicros, (System.nanoTime() - start) / 1_000);
+            }
+            System.out.printf("%-22s %9d bytes of data (%4d per row, %5d pages), full scan %7d us%n", table,
+                    dataLength, dataLength / PACKAGES, dataLength / 16_384, bestMicros);
+        }
+
+    }
+    
+    private static long heapPerEntity(List<String[]> texts, boolean withText) throws InterruptedException {
+        long before = usedHeap();
+        List<TravelPackage> packages = new ArrayList<>(PACKAGES);
+        for (int i = 0; i < PACKAGES; i++) {
+            TravelPackage travelPackage = new TravelPackage();
+            travelPackage.setId(i + 1L);
+            travelPackage.setName(new String("Package " + i));
+            travelPackage.setPrice(1000.0 + i);
+            travelPackage.setMaxParticipants(30);
+            travelPackage.setCurrentParticipants(0);
+            travelPackage.setVersion(0L);
+            if (withText) {
+                // Copied so each entity owns its strings, as it would after being read from the database
+                String[] text = texts.get(i);
+                travelPackage.setDescription(new String(text[0].toCharArray()));
+                travelPackage.setIncludes(new String(text[1].toCharArray()));
+                travelPackage.setExcludes(new String(text[2].toCharArray()));
+                travelPackage.setItinerary(new String(text[3].toCharArray()));
+            }
+            packages.add(travelPackage);
+        }
+        return (usedHeap() - before) / packages.size();
+    }
+    
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    private static String filler(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(LOREM[random.nextInt(LOREM.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.travelmanagement.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.travelmanagement.entity.ChangeRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawJsonSerializerTest {
+    
+    private static final String PAYLOAD = "{\"id\":3,\"price\":12.5,\"tags\":[1,2]}";
+    
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    
+    @Test
+    void jsonCopiesThePayloadVerbatim() throws Exception {
+        assertThat(json.writeValueAsString(changeRecord(PAYLOAD))).contains("\"payload\":" + PAYLOAD);
+    }
+    
+    @Test
+    void binaryFormatsCarryThePayloadAsANestedValue() throws Exception {
+        JsonNode expected = json.readTree(PAYLOAD);
+        for (ObjectMapper binary : new ObjectMapper[]{
+                Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build(),
+                Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build()}) {
+            JsonNode written = binary.readTree(binary.writeValueAsBytes(changeRecord(PAYLOAD)));
+            assertThat(written.get("payload")).isEqualTo(expected);
+        }
+    }
+    
+    @Test
+    void treeConversionParsesThePayload() {
+        JsonNode tree = json.valueToTree(changeRecord(PAYLOAD));
+        assertThat(tree.get("payload").get("tags").size()).isEqualTo(2);
+    }
+    
+    private static ChangeRecord changeRecord(String payload) {
+        ChangeRecord changeRecord = new ChangeRecord();
+        changeRecord.setSequence(7L);
+        changeRecord.setEntityType(ChangeRecord.EntityType.PACKAGE);
+        changeRecord.setEntityId(3L);
+        changeRecord.setChangeType(ChangeRecord.ChangeType.UPSERT);
+        changeRecord.setPayload(payload);
+        return changeRecord;
+    }
+}
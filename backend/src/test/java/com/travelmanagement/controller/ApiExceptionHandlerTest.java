@@ -0,0 +1,64 @@
+package com.travelmanagement.controller;
+
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ApiExceptionHandlerTest extends EmbeddedDatabaseTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void unsupportedCurrencyIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/packages").param("currency", "XYZ"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported currency: XYZ"));
+        mockMvc.perform(get("/api/home").param("currency", "XYZ"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void unknownFieldIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/destinations").param("fields", "name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field: password"));
+    }
+    
+    @Test
+    void badRequestOnABulkheadIsStillABadRequest() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/packages/search").param("q", "paris").param("fields", "nope"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field: nope"));
+    }
+    
+    @Test
+    void unknownIdIsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/bookings/{id}/cancel", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Booking not found"));
+    }
+    
+    @Test
+    void duplicateUsernameIsAConflict() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"admin\",\"email\":\"other@example.com\",\"password\":\"secret\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Username already exists"));
+    }
+}
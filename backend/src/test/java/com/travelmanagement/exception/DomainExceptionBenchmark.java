@@ -0,0 +1,54 @@
+package com.travelmanagement.exception;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+// Cost of throwing a failure from deep in a request, where the servlet, filter, proxy and
+// repository frames put it on a real server, and catching it at the top: with a stack trace,
+// stackless but allocated per throw, and a shared instance. Run with mvn test -Pbenchmark.
+@Tag("benchmark")
+class DomainExceptionBenchmark {
+    
+    private static final int STACK_DEPTH = 120;
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    
+    @Test
+    void throwAndCatch() {
+        report("RuntimeException with stack trace", () -> new RuntimeException("Booking not found"));
+        report("BadRequestException (stackless)", () -> new BadRequestException("Unsupported currency: XYZ"));
+        report("NotFoundException.BOOKING (shared)", () -> NotFoundException.BOOKING);
+    }
+    
+    private static void report(String name, Supplier<RuntimeException> failure) {
+        measure(failure, WARMUP_ITERATIONS);
+        long nanos = measure(failure, MEASURED_ITERATIONS);
+        System.out.printf("%-36s %8.1f ns/throw%n", name, (double) nanos / MEASURED_ITERATIONS);
+    }
+    
+    private static long measure(Supplier<RuntimeException> failure, int iterations) {
+        long caught = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try {
+                throwAt(STACK_DEPTH, failure);
+            } catch (RuntimeException e) {
+                caught += e.getMessage().length();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (caught == 0) {
+            throw new AssertionError("Nothing was thrown");
+        }
+        return elapsed;
+    }
+    
+    private static void throwAt(int depth, Supplier<RuntimeException> failure) {
+        if (depth == 0) {
+            throw failure.get();
+        }
+        throwAt(depth - 1, failure);
+    }
+}
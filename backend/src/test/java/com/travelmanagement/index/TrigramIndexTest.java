@@ -0,0 +1,43 @@
+package com.travelmanagement.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+    
+    private final TrigramIndex index = new TrigramIndex();
+    
+    @BeforeEach
+    void catalog() {
+        index.put(1L, "Paris France");
+        index.put(2L, "Barcelona Spain");
+        index.put(3L, "Santorini Greece");
+    }
+    
+    @Test
+    void adjacentTranspositionIsOneEdit() {
+        assertThat(index.search("pairs", 10)).containsExactly(1L);
+        assertThat(index.search("prais", 10)).containsExactly(1L);
+        assertThat(index.search("barcleona", 10)).containsExactly(2L);
+    }
+    
+    @Test
+    void substitutionMatches() {
+        assertThat(index.search("paros", 10)).containsExactly(1L);
+        assertThat(index.search("santorino", 10)).containsExactly(3L);
+    }
+    
+    @Test
+    void insertionMatches() {
+        assertThat(index.search("parris", 10)).containsExactly(1L);
+        assertThat(index.search("barcelonna spain", 10)).containsExactly(2L);
+    }
+    
+    @Test
+    void tooManyEditsDoNotMatch() {
+        assertThat(index.search("prias", 10)).isEmpty();
+        assertThat(index.search("rome", 10)).isEmpty();
+    }
+}
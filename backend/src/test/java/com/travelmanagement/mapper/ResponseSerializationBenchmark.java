@@ -0,0 +1,139 @@
+package com.travelmanagement.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.travelmanagement.dto.PricedView;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.Destination;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.entity.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Serializes a 200-item list the way the list endpoints do (each item wrapped in a PricedView),
+// as entities and as mapped records, with plain Jackson and with Blackbird. Record timings include
+// the mapping. Each case is warmed up and reports its best round. Run with mvn test -Pbenchmark;
+// for the least interference between cases, run it with -Dtest=ResponseSerializationBenchmark.
+@Tag("benchmark")
+class ResponseSerializationBenchmark {
+    
+    private static final int ITEMS = 200;
+    private static final int WARMUP_WRITES = 10_000;
+    private static final int ROUNDS = 15;
+    private static final int WRITES_PER_ROUND = 2_000;
+    
+    private final ResponseMapper responseMapper = new ResponseMapperImpl();
+    
+    @Test
+    void serializeLists() throws Exception {
+        List<TravelPackage> packages = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        populate(packages, bookings);
+        
+        for (boolean blackbird : new boolean[]{false, true}) {
+            ObjectWriter writer = objectMapper(blackbird).writer();
+            String jackson = blackbird ? "blackbird" : "plain";
+            report("packages, entities, " + jackson, writer, () -> wrap(packages));
+            report("packages, records, " + jackson, writer, () -> wrap(responseMapper.toPackageResponses(packages)));
+            report("bookings, entities, " + jackson, writer, () -> wrap(bookings));
+            report("bookings, records, " + jackson, writer, () -> wrap(responseMapper.toBookingResponses(bookings)));
+        }
+    }
+    
+    private static void report(String name, ObjectWriter writer, Supplier<Object> list) throws Exception {
+        int bytes = writer.writeValueAsBytes(list.get()).length;
+        for (int i = 0; i < WARMUP_WRITES; i++) {
+            writer.writeValueAsBytes(list.get());
+        }
+        double bestMicros = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < WRITES_PER_ROUND; i++) {
+                writer.writeValueAsBytes(list.get());
+            }
+            bestMicros = Math.min(bestMicros, (System.nanoTime() - start) / 1e3 / WRITES_PER_ROUND);
+        }
+        System.out.printf("%-30s %8.1f us/list  %8d bytes%n", name, bestMicros, bytes);
+    }
+    
+    private static ObjectMapper objectMapper(boolean blackbird) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return blackbird ? objectMapper.registerModule(new BlackbirdModule()) : objectMapper;
+    }
+    
+    private static <T> List<PricedView<T>> wrap(List<T> items) {
+        List<PricedView<T>> views = new ArrayList<>(items.size());
+        for (T item : items) {
+            views.add(new PricedView<>(item, null, null));
+        }
+        return views;
+    }
+    
+    private static void populate(List<TravelPackage> packages, List<Booking> bookings) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Destination> destinations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Destination destination = new Destination();
+            destination.setId((long) i);
+            destination.setName("Destination " + i);
+            destination.setCountry("Country");
+            destination.setCity("City " + i);
+            destination.setImageUrl("https://img.example.com/" + i + ".jpg");
+            destination.setPrice(999.0 + i);
+            destination.setBestTimeToVisit("Spring");
+            destination.setClimate("Mild");
+            destination.setLatitude(40.1 + i);
+            destination.setLongitude(12.5 + i);
+            destination.setCreatedAt(now);
+            destination.setUpdatedAt(now);
+            destinations.add(destination);
+        }
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("traveller");
+        user.setEmail("traveller@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setFirstName("T");
+        user.setLastName("R");
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        for (int i = 0; i < ITEMS; i++) {
+            TravelPackage travelPackage = new TravelPackage();
+            travelPackage.setId((long) i);
+            travelPackage.setName("Package " + i);
+            travelPackage.setDestination(destinations.get(i % destinations.size()));
+            travelPackage.setStartDate(LocalDate.now());
+            travelPackage.setEndDate(LocalDate.now().plusDays(7));
+            travelPackage.setPrice(1500.0 + i);
+            travelPackage.setMaxParticipants(30);
+            travelPackage.setCurrentParticipants(4);
+            travelPackage.setCreatedAt(now);
+            travelPackage.setUpdatedAt(now);
+            travelPackage.setVersion(3L);
+            packages.add(travelPackage);
+            
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setUser(user);
+            booking.setTravelPackage(travelPackage);
+            booking.setNumberOfParticipants(2);
+            booking.setTotalPrice(3000.0);
+            booking.setBookingReference("BK" + (1700000000000L + i));
+            booking.setBookingDate(now);
+            booking.setCreatedAt(now);
+            booking.setUpdatedAt(now);
+            bookings.add(booking);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.travelmanagement.repository;
+
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.support.CapturedSql;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// EXPLAINs the SQL Hibernate generates for each hot repository query, with its bound values, and
+// fails when a table in the plan would be scanned because no index can serve it, e.g. after an
+// index was dropped or a query was reworded. Only possible_keys is judged, not the chosen key: on
+// the small seeded tables the optimizer may prefer a scan even when a usable index exists. Queries
+// that read most of a table anyway (findByIsActiveTrue, the LIKE '%term%' searches, the seats-left
+// comparison) are deliberately not listed.
+class QueryPlanTest extends EmbeddedDatabaseTest {
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @TestFactory
+    Stream<DynamicTest> hotQueriesCanUseAnIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        return Stream.of(
+                check("BookingRepository.findByUserId", () -> bookingRepository.findByUserId(1L)),
+                check("BookingRepository.findConfirmedBookingsByUserId",
+                        () -> bookingRepository.findConfirmedBookingsByUserId(1L)),
+                check("BookingRepository.findByBookingReference",
+                        () -> bookingRepository.findByBookingReference("TRV-0")),
+                check("BookingRepository.findByBookingStatus",
+                        () -> bookingRepository.findByBookingStatus(Booking.BookingStatus.PENDING)),
+                check("BookingRepository.findByPaymentStatus",
+                        () -> bookingRepository.findByPaymentStatus(Booking.PaymentStatus.FAILED)),
+                check("BookingRepository.findByBookingDateRange",
+                        () -> bookingRepository.findByBookingDateRange(now.minusDays(1), now)),
+                check("BookingRepository.countConfirmedBookingsByPackageId",
+                        () -> bookingRepository.countConfirmedBookingsByPackageId(1L)),
+                check("BookingRepository.countConfirmedBookingsGroupedByPackage",
+                        () -> bookingRepository.countConfirmedBookingsGroupedByPackage()),
+                check("BookingRepository.countConfirmedBookingsByDestinationId",
+                        () -> bookingRepository.countConfirmedBookingsByDestinationId(1L)),
+                check("BookingRepository.sumReservedParticipantsByPackageIds",
+                        () -> bookingRepository.sumReservedParticipantsByPackageIds(List.of(1L, 2L))),
+                check("BookingRepository.findIdsByPackageIds",
+                        () -> bookingRepository.findIdsByPackageIds(List.of(1L, 2L))),
+                check("BookingRepository.findIdsByStatusBookedBefore",
+                        () -> bookingRepository.findIdsByStatusBookedBefore(Booking.BookingStatus.PENDING,
+                                Booking.PaymentStatus.PENDING, now, 0L, PageRequest.of(0, 500))),
+                check("BookingRepository.findOldestBookingDateByStatusBefore",
+                        () -> bookingRepository.findOldestBookingDateByStatusBefore(Booking.BookingStatus.PENDING,
+                                Booking.PaymentStatus.PENDING, now)),
+                check("BookingRepository.findArchivable",
+                        () -> bookingRepository.findArchivable(now.minusYears(2), LocalDate.now(),
+                                now.minusYears(3), 0L, PageRequest.of(0, 1000))),
+                check("TravelPackageRepository.findByIsFeaturedTrueAndIsActiveTrue",
+                        () -> travelPackageRepository.findByIsFeaturedTrueAndIsActiveTrue()),
+                check("TravelPackageRepository.findByDestinationId",
+                        () -> travelPackageRepository.findByDestinationId(1L)),
+                check("TravelPackageRepository.findByDestinationIdInAndIsActiveTrue",
+                        () -> travelPackageRepository.findByDestinationIdInAndIsActiveTrue(List.of(1L, 2L))),
+                check("TravelPackageRepository.findByPackageType",
+                        () -> travelPackageRepository.findByPackageType(TravelPackage.PackageType.LUXURY)),
+                check("TravelPackageRepository.findAvailablePackages",
+                        () -> travelPackageRepository.findAvailablePackages(LocalDate.now())),
+                check("TravelPackageRepository.findAll(priceWithin)",
+                        () -> travelPackageRepository.findAll(TravelPackageSpecifications.priceWithin(
+                                Map.of("USD", new double[]{100.0, 200.0}, "EUR", new double[]{90.0, 180.0})))),
+                check("DestinationRepository.findByName", () -> destinationRepository.findByName("Paris")),
+                check("DestinationRepository.findByIsFeaturedTrueAndIsActiveTrue",
+                        () -> destinationRepository.findByIsFeaturedTrueAndIsActiveTrue()),
+                check("DestinationRepository.findByCountry", () -> destinationRepository.findByCountry("France")),
+                check("DestinationRepository.findByCity", () -> destinationRepository.findByCity("Paris")),
+                check("DestinationRepository.findAll(priceWithin)",
+                        () -> destinationRepository.findAll(DestinationSpecifications.priceWithin(
+                                Map.of("USD", new double[]{100.0, 200.0}, "EUR", new double[]{90.0, 180.0})))),
+                check("UserRepository.findByUsername", () -> userRepository.findByUsername("admin")),
+                check("UserRepository.findByEmail", () -> userRepository.findByEmail("admin@example.com")));
+    }
+    
+    private DynamicTest check(String name, Runnable query) {
+        return DynamicTest.dynamicTest(name, () -> {
+            List<String> selects = CapturedSql.during(query).stream()
+                    .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                    .toList();
+            assertThat(selects).as("SQL sent by %s", name).isNotEmpty();
+            for (String sql : selects) {
+                for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                    assertThat("ALL".equals(row.get("type")) && row.get("possible_keys") == null)
+                            .as("%s scans %s with no usable index:%n%s", name, row.get("table"), sql)
+                            .isFalse();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.travelmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.travelmanagement.dto.ArchivedBooking;
+import com.travelmanagement.entity.Booking;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingArchiveStoreTest {
+    
+    private static final LocalDateTime BOOKED = LocalDateTime.of(2022, 3, 14, 9, 30);
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void relativeDirectoryIsRefused() {
+        BookingArchiveStore store = new BookingArchiveStore(objectMapper, "booking-archive", false);
+        
+        assertThatThrownBy(store::load).isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void archivingWithoutDirectoryIsRefused() throws Exception {
+        assertThatThrownBy(new BookingArchiveStore(objectMapper, "", true)::load)
+                .isInstanceOf(IllegalStateException.class);
+        
+        BookingArchiveStore readOnly = new BookingArchiveStore(objectMapper, "", false);
+        readOnly.load();
+        assertThat(readOnly.isEmpty()).isTrue();
+    }
+    
+    @Test
+    void bookingsArchivedByOneInstanceAreReadByAnother() throws Exception {
+        BookingArchiveStore archiver = open();
+        BookingArchiveStore reader = open();
+        assertThat(reader.isEmpty()).isTrue();
+        
+        archiver.append(List.of(archived(1L, "TRV-1"), archived(2L, "TRV-2")));
+        
+        assertThat(reader.isEmpty()).isFalse();
+        assertThat(reader.findByReference("TRV-2")).map(ArchivedBooking::getId).contains(2L);
+        assertThat(reader.findByDateRange(BOOKED.minusDays(1), BOOKED.plusDays(1)))
+                .extracting(ArchivedBooking::getId).containsExactly(1L, 2L);
+        
+        archiver.append(List.of(archived(3L, "TRV-3")));
+        assertThat(reader.findByDateRange(BOOKED.minusDays(1), BOOKED.plusDays(1)))
+                .extracting(ArchivedBooking::getId).containsExactly(1L, 2L, 3L);
+    }
+    
+    private BookingArchiveStore open() throws Exception {
+        BookingArchiveStore store = new BookingArchiveStore(objectMapper, directory.toString(), true);
+        store.load();
+        return store;
+    }
+    
+    private static ArchivedBooking archived(Long id, String reference) {
+        return new ArchivedBooking(id, 1L, 1L, 2, 200.0, "USD", Booking.BookingStatus.CONFIRMED,
+                Booking.PaymentStatus.PAID, null, reference, BOOKED, BOOKED, BOOKED);
+    }
+}
@@ -0,0 +1,85 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.exception.BulkheadRejectedException;
+import com.travelmanagement.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class BulkheadTest {
+    
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+    
+    @Test
+    void fullPoolIsRejected() {
+        Bulkhead bulkhead = bulkhead(10_000);
+        bulkhead.submit(this::blockUntilReleased);
+        
+        CompletableFuture<String> rejected = bulkhead.submit(() -> "never runs");
+        
+        assertThatThrownBy(rejected::get).isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(BulkheadRejectedException.class)
+                .hasMessage("Too many test requests in progress");
+    }
+    
+    @Test
+    void missedDeadlineFailsWithDeadlineExceeded() {
+        Bulkhead bulkhead = bulkhead(100);
+        
+        CompletableFuture<String> late = bulkhead.submit(this::blockUntilReleased);
+        
+        assertThatThrownBy(() -> late.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(DeadlineExceededException.class);
+    }
+    
+    @Test
+    void otherFailuresPassThrough() {
+        Bulkhead bulkhead = bulkhead(10_000);
+        
+        CompletableFuture<String> failed = bulkhead.submit(() -> {
+            throw new IllegalStateException("bug");
+        });
+        
+        assertThatThrownBy(failed::get).cause().isExactlyInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void resultIsReturned() throws Exception {
+        assertThat(bulkhead(10_000).submit(() -> "ok").get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+    
+    private Bulkhead bulkhead(long timeoutMs) {
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        return new Bulkhead("test", executor, mock(PlatformTransactionManager.class), timeoutMs, new SimpleMeterRegistry());
+    }
+    
+    private String blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+}
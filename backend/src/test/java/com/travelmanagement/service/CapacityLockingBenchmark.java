@@ -0,0 +1,105 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Concurrent capacity updates on one package row under each locking mode: every thread alternately
+// books a seat and gives it back, and the final count must equal the sum of the updates that
+// succeeded, i.e. no update was lost. Reports throughput, p50/p99 latency and the updates that
+// failed after exhausting their retries.
+// Run with mvn test -Pbenchmark.
+@Tag("benchmark")
+class CapacityLockingBenchmark extends EmbeddedDatabaseTest {
+    
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 200;
+    
+    @Autowired
+    private TravelPackageService travelPackageService;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    // The context is shared with the other tests, so the configured mode is put back after each run
+    private TravelPackageService service;
+    private Object configuredLocking;
+    
+    @BeforeEach
+    void saveLocking() {
+        service = AopTestUtils.getTargetObject(travelPackageService);
+        configuredLocking = ReflectionTestUtils.getField(service, "capacityLocking");
+    }
+    
+    @AfterEach
+    void restoreLocking() {
+        ReflectionTestUtils.setField(service, "capacityLocking", configuredLocking);
+    }
+    
+    @ParameterizedTest
+    @EnumSource(TravelPackageService.CapacityLocking.class)
+    void contendedCapacityUpdates(TravelPackageService.CapacityLocking locking) throws Exception {
+        ReflectionTestUtils.setField(service, "capacityLocking", locking);
+        TravelPackage target = travelPackageRepository.findAll().stream()
+                .filter(travelPackage -> travelPackage.getMaxParticipants() - travelPackage.getCurrentParticipants() >= THREADS)
+                .findFirst()
+                .orElseThrow();
+        int before = target.getCurrentParticipants();
+        
+        AtomicLong applied = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long[] latencies = new long[THREADS * UPDATES_PER_THREAD];
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * UPDATES_PER_THREAD;
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        int delta = i % 2 == 0 ? 1 : -1;
+                        long began = System.nanoTime();
+                        try {
+                            travelPackageService.updateParticipantCount(target.getId(), delta);
+                            applied.addAndGet(delta);
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                        latencies[offset + i] = System.nanoTime() - began;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        Arrays.sort(latencies);
+        System.out.printf("%-11s %7.0f updates/s  p50 %6.2f ms  p99 %7.2f ms  failed %d%n", locking,
+                latencies.length / seconds, latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6, failed.get());
+        assertThat(travelPackageRepository.findById(target.getId()).orElseThrow().getCurrentParticipants())
+                .isEqualTo(before + applied.get());
+    }
+}
@@ -0,0 +1,169 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.ChangeFeedPage;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.ChangeRecord;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.entity.User;
+import com.travelmanagement.exception.GoneException;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.repository.UserRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ChangeFeedServiceTest extends EmbeddedDatabaseTest {
+    
+    @Autowired
+    private ChangeFeedService changeFeedService;
+    
+    @Autowired
+    private ChangeOutboxService changeOutboxService;
+    
+    @Autowired
+    private TravelPackageService travelPackageService;
+    
+    @Autowired
+    private BookingService bookingService;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void relayNumbersRecordsContiguouslyInOutboxOrder() {
+        long cursor = relayedCursor();
+        changeOutboxService.recordBookingsChanged(List.of(101L, 102L, 103L));
+        changeOutboxService.recordBookingDeleted(104L);
+        
+        changeFeedService.relay();
+        
+        ChangeFeedPage page = changeFeedService.getChanges(cursor, 10);
+        assertThat(page.getChanges()).extracting(ChangeRecord::getSequence)
+                .containsExactly(cursor + 1, cursor + 2, cursor + 3, cursor + 4);
+        assertThat(page.getChanges()).extracting(ChangeRecord::getEntityId).containsExactly(101L, 102L, 103L, 104L);
+        assertThat(page.getChanges().get(3).getChangeType()).isEqualTo(ChangeRecord.ChangeType.DELETE);
+        assertThat(page.getNextCursor()).isEqualTo(cursor + 4);
+        assertThat(changeFeedService.getCurrentCursor()).isEqualTo(cursor + 4);
+        assertThat(changeFeedService.getChanges(cursor + 4, 10).getChanges()).isEmpty();
+    }
+    
+    // The state row lock makes concurrent relays take turns, so no number is skipped or handed out twice
+    @Test
+    void concurrentRelaysLeaveNoGapsOrDuplicates() throws Exception {
+        long cursor = relayedCursor();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                long first = 1000L * (i + 1);
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (long from = first; from < first + 100; from += 10) {
+                        changeOutboxService.recordBookingsChanged(LongStream.range(from, from + 10).boxed().toList());
+                        changeFeedService.relay();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        changeFeedService.relay();
+        
+        Map<String, Object> numbered = jdbcTemplate.queryForMap("SELECT COUNT(*) AS records, MIN(sequence_number) AS low, "
+                + "MAX(sequence_number) AS high FROM change_outbox WHERE sequence_number > ?", cursor);
+        assertThat(((Number) numbered.get("records")).longValue()).isEqualTo(400L);
+        assertThat(((Number) numbered.get("low")).longValue()).isEqualTo(cursor + 1);
+        assertThat(((Number) numbered.get("high")).longValue()).isEqualTo(cursor + 400);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_outbox WHERE sequence_number IS NULL",
+                Long.class)).isZero();
+    }
+    
+    @Test
+    void purgeRemovesAPrefixAndOlderCursorsAreGone() {
+        long cursor = relayedCursor();
+        for (long id = 201L; id <= 203L; id++) {
+            jdbcTemplate.update("INSERT INTO change_outbox (entity_type, entity_id, change_type, created_at) "
+                    + "VALUES ('BOOKING', ?, 'UPSERT', NOW(6) - INTERVAL 30 DAY)", id);
+        }
+        changeFeedService.relay();
+        changeOutboxService.recordBookingsChanged(List.of(204L, 205L));
+        changeFeedService.relay();
+        
+        changeFeedService.purge();
+        
+        assertThatThrownBy(() -> changeFeedService.getChanges(cursor, 10)).isSameAs(GoneException.CHANGES_NOT_RETAINED);
+        assertThatThrownBy(() -> changeFeedService.getChanges(cursor + 2, 10))
+                .isSameAs(GoneException.CHANGES_NOT_RETAINED);
+        assertThat(changeFeedService.getChanges(cursor + 3, 10).getChanges()).extracting(ChangeRecord::getEntityId)
+                .containsExactly(204L, 205L);
+    }
+    
+    @Test
+    void deletingAPackageRecordsItsBookingsAsDeleted() {
+        TravelPackage template = travelPackageRepository.findAll().get(0);
+        TravelPackage scratch = new TravelPackage();
+        scratch.setName("Change feed test");
+        scratch.setDestination(template.getDestination());
+        scratch.setStartDate(template.getStartDate());
+        scratch.setEndDate(template.getEndDate());
+        scratch.setPrice(100.0);
+        scratch.setMaxParticipants(10);
+        scratch.setIsActive(true);
+        Long packageId = travelPackageRepository.save(scratch).getId();
+        Long bookingId = bookingService.createBooking(booking(packageId)).getId();
+        long cursor = relayedCursor();
+        
+        travelPackageService.deletePackage(packageId);
+        changeFeedService.relay();
+        
+        assertThat(changeFeedService.getChanges(cursor, 100).getChanges())
+                .filteredOn(change -> change.getEntityType() == ChangeRecord.EntityType.BOOKING)
+                .extracting(ChangeRecord::getEntityId, ChangeRecord::getChangeType)
+                .containsExactly(tuple(bookingId, ChangeRecord.ChangeType.DELETE));
+    }
+    
+    // Everything recorded so far is numbered, so the returned cursor is the end of the feed
+    private long relayedCursor() {
+        changeFeedService.relay();
+        return changeFeedService.getCurrentCursor();
+    }
+    
+    private Booking booking(Long packageId) {
+        TravelPackage travelPackage = new TravelPackage();
+        travelPackage.setId(packageId);
+        User user = new User();
+        user.setId(userRepository.findAll().get(0).getId());
+        Booking booking = new Booking();
+        booking.setTravelPackage(travelPackage);
+        booking.setUser(user);
+        booking.setNumberOfParticipants(1);
+        return booking;
+    }
+}
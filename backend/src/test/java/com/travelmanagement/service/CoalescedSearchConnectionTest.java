@@ -0,0 +1,96 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A herd of identical searches on the search bulkhead must cost one connection, the leader's,
+// however many followers wait for it
+class CoalescedSearchConnectionTest extends EmbeddedDatabaseTest {
+    
+    private static final int FOLLOWERS = 5;
+    
+    @Autowired
+    private Bulkhead searchBulkhead;
+    
+    @Autowired
+    private ThreadPoolTaskExecutor searchExecutor;
+    
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void waitingFollowersHoldNoConnection() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Suspends any caller transaction first, like the coalesced TravelPackageService reads
+        TransactionTemplate notSupported = new TransactionTemplate(transactionManager);
+        notSupported.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        Supplier<List<TravelPackage>> search = () -> notSupported.execute(status ->
+                requestCoalescer.execute(List.of("test.herd"), () -> {
+                    List<TravelPackage> packages = travelPackageRepository.findByIsActiveTrue();
+                    querying.countDown();
+                    await(release);
+                    return packages;
+                }));
+        
+        List<CompletableFuture<List<TravelPackage>>> searches = new ArrayList<>();
+        searches.add(searchBulkhead.submitWithoutTransaction(search));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            searches.add(searchBulkhead.submitWithoutTransaction(search));
+        }
+        while (searchExecutor.getActiveCount() < FOLLOWERS + 1) {
+            Thread.sleep(10);
+        }
+        
+        // Lowest of several samples, so a scheduled job borrowing a connection meanwhile does not count
+        int active = Integer.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            active = Math.min(active, pool.getActiveConnections());
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (CompletableFuture<List<TravelPackage>> result : searches) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isNotEmpty();
+        }
+        
+        assertThat(active).isEqualTo(1);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
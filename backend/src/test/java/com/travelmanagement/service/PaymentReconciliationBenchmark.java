@@ -0,0 +1,73 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.PaymentStatusResult;
+import com.travelmanagement.dto.PaymentStatusUpdate;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// One reconciliation batch of 100k pending bookings, as a payment provider settlement file would
+// deliver it: mostly PAID (which also confirms the booking), the rest FAILED. Reports the wall time
+// of the whole batch and the resulting booking states.
+// Run with mvn test -Pbenchmark.
+@Tag("benchmark")
+class PaymentReconciliationBenchmark extends EmbeddedDatabaseTest {
+    
+    private static final int BOOKINGS = 100_000;
+    private static final String PREFIX = "BENCH-RECON-";
+    
+    @Autowired
+    private PaymentReconciliationService paymentReconciliationService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void deleteBookings() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_reference LIKE ?", PREFIX + "%");
+    }
+    
+    @Test
+    void reconcileLargeBatch() {
+        Long packageId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM travel_packages", Long.class);
+        Long userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        List<PaymentStatusUpdate> updates = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            String reference = PREFIX + i;
+            rows.add(new Object[]{reference, packageId, userId});
+            updates.add(new PaymentStatusUpdate(reference, i % 10 < 8 ? Booking.PaymentStatus.PAID : Booking.PaymentStatus.FAILED));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (booking_reference, package_id, user_id, booking_date, booking_status, "
+                + "payment_status, currency, number_of_participants, total_price, created_at, updated_at) "
+                + "VALUES (?, ?, ?, NOW(6), 'PENDING', 'PENDING', 'USD', 1, 100, NOW(6), NOW(6))", rows);
+        
+        long start = System.nanoTime();
+        List<PaymentStatusResult> results = paymentReconciliationService.reconcile(updates);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        Map<PaymentStatusResult.Outcome, Long> outcomes = results.stream()
+                .collect(Collectors.groupingBy(PaymentStatusResult::getOutcome, Collectors.counting()));
+        Map<String, Long> states = jdbcTemplate.queryForList("SELECT CONCAT(booking_status, '/', payment_status) AS state, "
+                        + "COUNT(*) AS bookings FROM bookings WHERE booking_reference LIKE ? GROUP BY state", PREFIX + "%").stream()
+                .collect(Collectors.toMap(row -> (String) row.get("state"), row -> ((Number) row.get("bookings")).longValue()));
+        System.out.printf("%d updates in %.2f s (%.0f updates/s)  outcomes %s  bookings %s%n",
+                BOOKINGS, seconds, BOOKINGS / seconds, outcomes, states);
+        
+        assertThat(outcomes).containsExactly(Map.entry(PaymentStatusResult.Outcome.UPDATED, (long) BOOKINGS));
+        assertThat(states).containsOnly(
+                Map.entry("CONFIRMED/PAID", BOOKINGS * 8L / 10),
+                Map.entry("PENDING/FAILED", BOOKINGS * 2L / 10));
+    }
+}
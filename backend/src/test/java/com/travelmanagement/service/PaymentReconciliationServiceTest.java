@@ -0,0 +1,85 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.PaymentStatusResult;
+import com.travelmanagement.dto.PaymentStatusUpdate;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.repository.UserRepository;
+import com.travelmanagement.support.CapturedSql;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentReconciliationServiceTest extends EmbeddedDatabaseTest {
+    
+    @Autowired
+    private PaymentReconciliationService paymentReconciliationService;
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void paymentConfirmsAPendingBooking() {
+        Booking pending = booking(Booking.BookingStatus.PENDING);
+        
+        List<PaymentStatusResult> results = paymentReconciliationService.reconcile(
+                List.of(new PaymentStatusUpdate(pending.getBookingReference(), Booking.PaymentStatus.PAID)));
+        
+        assertThat(results).extracting(PaymentStatusResult::getOutcome).containsExactly(PaymentStatusResult.Outcome.UPDATED);
+        Booking after = bookingRepository.findById(pending.getId()).orElseThrow();
+        assertThat(after.getPaymentStatus()).isEqualTo(Booking.PaymentStatus.PAID);
+        assertThat(after.getBookingStatus()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+    
+    @Test
+    void cancelledAndCompletedBookingsAreRejected() {
+        Booking cancelled = booking(Booking.BookingStatus.CANCELLED);
+        Booking completed = booking(Booking.BookingStatus.COMPLETED);
+        
+        List<PaymentStatusResult> results = paymentReconciliationService.reconcile(List.of(
+                new PaymentStatusUpdate(cancelled.getBookingReference(), Booking.PaymentStatus.PAID),
+                new PaymentStatusUpdate(completed.getBookingReference(), Booking.PaymentStatus.REFUNDED),
+                new PaymentStatusUpdate("BK-UNKNOWN", Booking.PaymentStatus.PAID)));
+        
+        assertThat(results).extracting(PaymentStatusResult::getOutcome).containsExactly(
+                PaymentStatusResult.Outcome.REJECTED,
+                PaymentStatusResult.Outcome.REJECTED,
+                PaymentStatusResult.Outcome.NOT_FOUND);
+        assertThat(bookingRepository.findById(cancelled.getId()).orElseThrow().getPaymentStatus())
+                .isEqualTo(Booking.PaymentStatus.PENDING);
+        assertThat(bookingRepository.findById(completed.getId()).orElseThrow().getPaymentStatus())
+                .isEqualTo(Booking.PaymentStatus.PENDING);
+    }
+    
+    @Test
+    void bookingsAreLockedBeforeTheirStatusIsChecked() {
+        Booking pending = booking(Booking.BookingStatus.PENDING);
+        
+        List<String> sql = CapturedSql.during(() -> paymentReconciliationService.reconcile(
+                List.of(new PaymentStatusUpdate(pending.getBookingReference(), Booking.PaymentStatus.FAILED))));
+        
+        assertThat(sql).filteredOn(statement -> statement.contains("booking_reference in"))
+                .first().asString().containsIgnoringCase("for update");
+    }
+    
+    private Booking booking(Booking.BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(userRepository.findAll().get(0));
+        booking.setTravelPackage(travelPackageRepository.findAll().get(0));
+        booking.setNumberOfParticipants(1);
+        booking.setTotalPrice(100.0);
+        booking.setBookingStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
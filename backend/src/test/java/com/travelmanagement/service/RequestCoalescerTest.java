@@ -0,0 +1,141 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest extends EmbeddedDatabaseTest {
+    
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void sharedResultIsDetachedFromTheCallersSession() {
+        // Stands in for the open-in-view entity manager of the request that leads the query
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        EntityManagerHolder holder = new EntityManagerHolder(requestEntityManager);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        try {
+            List<TravelPackage> packages = requestCoalescer.execute(List.of("test.detached"),
+                    travelPackageRepository::findByIsActiveTrue);
+            
+            assertThat(packages).isNotEmpty();
+            assertThat(packages).noneMatch(requestEntityManager::contains);
+            assertThat(packages).allMatch(travelPackage -> Hibernate.isInitialized(travelPackage.getDestination()));
+            assertThat(TransactionSynchronizationManager.getResource(entityManagerFactory)).isSameAs(holder);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+    }
+    
+    @Test
+    void followerSharesTheLeadersResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> requestCoalescer.execute("test.shared", () -> {
+            runs.incrementAndGet();
+            await(release);
+            return "leader";
+        }), executor);
+        awaitRuns(runs, 1);
+        
+        Thread[] followerThread = new Thread[1];
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+            followerThread[0] = Thread.currentThread();
+            return requestCoalescer.execute("test.shared", () -> {
+                runs.incrementAndGet();
+                return "follower";
+            });
+        }, executor);
+        awaitParked(followerThread);
+        release.countDown();
+        
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(runs).hasValue(1);
+    }
+    
+    @Test
+    void followerRetriesWhenTheLeaderFails() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> requestCoalescer.execute("test.failed", () -> {
+            runs.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("leader deadline");
+        }), executor);
+        awaitRuns(runs, 1);
+        
+        Thread[] followerThread = new Thread[1];
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+            followerThread[0] = Thread.currentThread();
+            return requestCoalescer.execute("test.failed", () -> {
+                runs.incrementAndGet();
+                return "follower";
+            });
+        }, executor);
+        awaitParked(followerThread);
+        release.countDown();
+        
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).cause()
+                .isInstanceOf(IllegalStateException.class).hasMessage("leader deadline");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("follower");
+        assertThat(runs).hasValue(2);
+    }
+    
+    private static void awaitRuns(AtomicInteger runs, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (runs.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+    
+    // The follower is parked in join() once it has found the leader's flight
+    private static void awaitParked(Thread[] thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((thread[0] == null || thread[0].getState() != Thread.State.WAITING) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
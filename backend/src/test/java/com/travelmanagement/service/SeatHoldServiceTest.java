@@ -0,0 +1,122 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.dto.SeatHold;
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.entity.User;
+import com.travelmanagement.exception.NoSpaceException;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.repository.UserRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatHoldServiceTest extends EmbeddedDatabaseTest {
+    
+    private static final int CAPACITY = 3;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    
+    @Autowired
+    private SeatHoldService seatHoldService;
+    
+    @Autowired
+    private BookingService bookingService;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private TravelPackage travelPackage;
+    private User user;
+    
+    @BeforeEach
+    void smallPackage() {
+        TravelPackage template = travelPackageRepository.findAll().get(0);
+        TravelPackage small = new TravelPackage();
+        small.setName("Capacity test");
+        small.setDestination(template.getDestination());
+        small.setStartDate(template.getStartDate());
+        small.setEndDate(template.getEndDate());
+        small.setPrice(100.0);
+        small.setMaxParticipants(CAPACITY);
+        small.setIsActive(true);
+        travelPackage = travelPackageRepository.save(small);
+        user = userRepository.findAll().get(0);
+    }
+    
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void confirmedHoldKeepsItsSeatsWhileTheBookingIsPending() {
+        SeatHold hold = seatHoldService.hold(travelPackage.getId(), user.getId(), CAPACITY);
+        Booking booking = bookingService.confirmHold(hold.getId(), new Booking());
+        
+        assertThat(booking.getBookingStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(seatHoldService.getHeldSeats(travelPackage.getId())).isZero();
+        assertThatThrownBy(() -> seatHoldService.hold(travelPackage.getId(), user.getId(), 1))
+                .isSameAs(NoSpaceException.INSTANCE);
+        assertThatThrownBy(() -> bookingService.createBooking(booking(1)))
+                .isSameAs(NoSpaceException.INSTANCE);
+    }
+    
+    @Test
+    void concurrentBookingsAndHoldsNeverExceedCapacity() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            boolean direct = i % 2 == 0;
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    if (direct) {
+                        bookingService.createBooking(booking(1));
+                    } else {
+                        seatHoldService.hold(travelPackage.getId(), user.getId(), 1);
+                    }
+                    return true;
+                } catch (NoSpaceException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        
+        int succeeded = 0;
+        for (Future<Boolean> attempt : attempts) {
+            succeeded += attempt.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        assertThat(succeeded).isEqualTo(CAPACITY);
+        assertThat(seatHoldService.getAvailableSeats(travelPackage)).isZero();
+    }
+    
+    private Booking booking(int participants) {
+        TravelPackage reference = new TravelPackage();
+        reference.setId(travelPackage.getId());
+        User userReference = new User();
+        userReference.setId(user.getId());
+        Booking booking = new Booking();
+        booking.setTravelPackage(reference);
+        booking.setUser(userReference);
+        booking.setNumberOfParticipants(participants);
+        return booking;
+    }
+}
@@ -0,0 +1,69 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.Booking;
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.entity.User;
+import com.travelmanagement.repository.BookingRepository;
+import com.travelmanagement.repository.BookingSpecifications;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.repository.UserRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparseFieldServiceTest extends EmbeddedDatabaseTest {
+    
+    private static final String FIELDS = "bookingReference,totalPrice,bookingStatus,travelPackage.name,user.id";
+    
+    @Autowired
+    private SparseFieldService sparseFieldService;
+    
+    @Autowired
+    private BookingService bookingService;
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Archived bookings are projected in memory and must come out exactly like rows read from the table
+    @Test
+    void projectedEntitiesMatchSelectedRows() {
+        Long id = bookingService.createBooking(booking()).getId();
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Booking booking = bookingRepository.findById(id).orElseThrow();
+            List<Map<String, Object>> selected = sparseFieldService.find(Booking.class, FIELDS,
+                    BookingSpecifications.byUser(booking.getUser().getId()));
+            
+            assertThat(sparseFieldService.project(Booking.class, FIELDS, List.of(booking)))
+                    .containsExactly(selected.stream().filter(row -> id.equals(row.get("id"))).findFirst().orElseThrow());
+        });
+    }
+    
+    private Booking booking() {
+        TravelPackage travelPackage = new TravelPackage();
+        travelPackage.setId(travelPackageRepository.findAll().get(1).getId());
+        User user = new User();
+        user.setId(userRepository.findAll().get(0).getId());
+        Booking booking = new Booking();
+        booking.setTravelPackage(travelPackage);
+        booking.setUser(user);
+        booking.setNumberOfParticipants(1);
+        return booking;
+    }
+}
@@ -0,0 +1,99 @@
+package com.travelmanagement.service;
+
+import com.travelmanagement.entity.TravelPackage;
+import com.travelmanagement.exception.BadRequestException;
+import com.travelmanagement.exception.ConflictException;
+import com.travelmanagement.repository.TravelPackageRepository;
+import com.travelmanagement.support.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TravelPackageServiceTest extends EmbeddedDatabaseTest {
+    
+    @Autowired
+    private TravelPackageService travelPackageService;
+    
+    @Autowired
+    private TravelPackageRepository travelPackageRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void updateAppliesAgainstTheCurrentVersion() {
+        TravelPackage current = anyPackage();
+        TravelPackage edit = copyOf(current);
+        edit.setName(current.getName() + " (updated)");
+        
+        TravelPackage saved = travelPackageService.updatePackage(current.getId(), edit);
+        
+        assertThat(saved.getName()).isEqualTo(current.getName() + " (updated)");
+        assertThat(travelPackageRepository.findById(current.getId()).orElseThrow().getVersion())
+                .isGreaterThan(current.getVersion());
+    }
+    
+    @Test
+    void updateAgainstAnOlderVersionIsAConflict() {
+        TravelPackage current = anyPackage();
+        TravelPackage stale = copyOf(current);
+        stale.setVersion(current.getVersion() - 1);
+        
+        assertThatThrownBy(() -> travelPackageService.updatePackage(current.getId(), stale))
+                .isSameAs(ConflictException.STALE_PACKAGE_VERSION);
+    }
+    
+    @Test
+    void updateWithoutAVersionIsRejected() {
+        TravelPackage current = anyPackage();
+        TravelPackage unversioned = copyOf(current);
+        unversioned.setVersion(null);
+        
+        assertThatThrownBy(() -> travelPackageService.updatePackage(current.getId(), unversioned))
+                .isInstanceOf(BadRequestException.class);
+    }
+    
+    @Test
+    void participantUpdateJoinsTheCallersTransaction() {
+        TravelPackage before = anyPackage();
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            travelPackageService.updateParticipantCount(before.getId(), 1);
+            status.setRollbackOnly();
+        });
+        
+        assertThat(travelPackageRepository.findById(before.getId()).orElseThrow().getCurrentParticipants())
+                .isEqualTo(before.getCurrentParticipants());
+    }
+    
+    private TravelPackage anyPackage() {
+        return travelPackageRepository.findAll().stream()
+                .filter(travelPackage -> travelPackage.getCurrentParticipants() < travelPackage.getMaxParticipants())
+                .findFirst()
+                .orElseThrow();
+    }
+    
+    private static TravelPackage copyOf(TravelPackage source) {
+        TravelPackage copy = new TravelPackage();
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setDestination(source.getDestination());
+        copy.setStartDate(source.getStartDate());
+        copy.setEndDate(source.getEndDate());
+        copy.setPrice(source.getPrice());
+        copy.setCurrency(source.getCurrency());
+        copy.setMaxParticipants(source.getMaxParticipants());
+        copy.setPackageType(source.getPackageType());
+        copy.setIncludes(source.getIncludes());
+        copy.setExcludes(source.getExcludes());
+        copy.setItinerary(source.getItinerary());
+        copy.setIsFeatured(source.getIsFeatured());
+        copy.setIsActive(source.getIsActive());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,61 @@
+package com.travelmanagement.support;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+// Driver-level interceptor that records the statements the calling thread sends, exactly as the
+// server receives them. The driver prepares statements client-side, so the recorded text already
+// has the bound values inlined and can be EXPLAINed as-is.
+public class CapturedSql implements QueryInterceptor {
+    
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+    
+    public static List<String> during(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+    
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        return this;
+    }
+    
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql.get());
+        }
+        return null;
+    }
+    
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+    
+    @Override
+    public void destroy() {
+    }
+    
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet,
+                                               ServerSession serverSession) {
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.travelmanagement.support;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// Boots the application against an embedded MariaDB, the same engine production runs on, so
+// Flyway, the generated SQL and the optimizer all behave as they do there. One server is shared
+// by every test class in the JVM; Spring's context cache shares the application context.
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class EmbeddedDatabaseTest {
+    
+    private static final String DATABASE = "travel_management";
+    
+    private static final DB DB = start();
+    
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + DB.getConfiguration().getPort()
+                + "/" + DATABASE + "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true"
+                + "&rewriteBatchedStatements=true&queryInterceptors=" + CapturedSql.class.getName());
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+    
+    private static DB start() {
+        try {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0);
+            if ("root".equals(System.getProperty("user.name"))) {
+                // mariadbd refuses to start as root unless told to, which is how CI containers run
+                config.addArg("--user=root");
+            }
+            DB db = DB.newEmbeddedDB(config.build());
+            db.start();
+            db.createDB(DATABASE);
+            return db;
+        } catch (Exception e) {
+            throw new IllegalStateException("Embedded MariaDB did not start", e);
+        }
+    }
+}
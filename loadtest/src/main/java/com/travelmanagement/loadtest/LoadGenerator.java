@@ -0,0 +1,234 @@
+package com.travelmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator: arrivals follow a precomputed schedule that never waits for responses,
+// and every latency is measured from the request's intended start time rather than its actual send
+// time, so a stalled server shows up in the percentiles instead of silently lowering the offered load
+final class LoadGenerator {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ExecutorService callbackPool;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+    private final ConcurrentLinkedQueue<Long> unpaidBookings = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+    private final SplittableRandom random;
+    private List<Long> packageIds = List.of();
+    private List<Long> destinationIds = List.of();
+    private volatile boolean recording;
+    
+    LoadGenerator(LoadTestConfig config) {
+        this.config = config;
+        this.callbackPool = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(callbackPool)
+                .build();
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.random = new SplittableRandom(config.seed());
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats());
+        }
+    }
+    
+    LoadReport run() throws IOException, InterruptedException {
+        try {
+            fetchCatalogIds();
+            if (packageIds.isEmpty()) {
+                throw new IllegalStateException("No active packages returned by " + config.baseUrl() + "/api/packages");
+            }
+            
+            recording = false;
+            drive(config.warmup());
+            awaitInFlight();
+            
+            recording = true;
+            long started = System.nanoTime();
+            long scheduled = drive(config.duration());
+            awaitInFlight();
+            long elapsed = System.nanoTime() - started;
+            
+            return new LoadReport(config, stats, scheduled, elapsed);
+        } finally {
+            callbackPool.shutdownNow();
+        }
+    }
+    
+    private long drive(Duration phase) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond());
+        long start = System.nanoTime();
+        long end = start + phase.toNanos();
+        long intendedStart = start;
+        long scheduled = 0;
+        
+        while (intendedStart < end) {
+            long now;
+            while ((now = System.nanoTime()) < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+            dispatch(config.pickScenario(random), intendedStart);
+            scheduled++;
+            intendedStart += config.poissonArrivals()
+                    ? (long) (-Math.log(1d - random.nextDouble()) * intervalNanos)
+                    : intervalNanos;
+        }
+        return scheduled;
+    }
+    
+    private void dispatch(Scenario scenario, long intendedStart) {
+        EndpointStats endpoint = stats.get(scenario);
+        boolean record = recording;
+        HttpRequest request = buildRequest(scenario);
+        if (request == null) {
+            if (record) {
+                endpoint.skipped.increment();
+            }
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            if (record) {
+                endpoint.dropped.increment();
+            }
+            return;
+        }
+        
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            inFlight.release();
+            boolean success = error == null && scenario.succeeded(response.statusCode());
+            if (record) {
+                if (success) {
+                    endpoint.latency.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                } else {
+                    endpoint.errors.increment();
+                }
+            }
+            if (success && scenario == Scenario.BOOK) {
+                rememberBooking(response.body());
+            }
+        });
+    }
+    
+    private HttpRequest buildRequest(Scenario scenario) {
+        return switch (scenario) {
+            case BROWSE -> get("/api/packages");
+            case SEARCH -> get("/api/packages/search?q="
+                    + URLEncoder.encode(config.searchTerms().get(random.nextInt(config.searchTerms().size())), StandardCharsets.UTF_8));
+            case DETAILS -> get("/api/packages/" + randomPackageId());
+            case DESTINATION_SPARSE -> destinationIds.isEmpty() ? null : get("/api/packages/destination/"
+                    + destinationIds.get(random.nextInt(destinationIds.size())) + "?fields=name,price,startDate");
+            case USER_BOOKINGS_SPARSE -> get("/api/bookings/user/" + (1 + random.nextLong(config.maxUserId()))
+                    + "?fields=bookingReference,totalPrice,bookingStatus");
+            case BOOK -> request("/api/bookings")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"user\":{\"id\":" + config.userId() + "},"
+                            + "\"travelPackage\":{\"id\":" + randomPackageId() + "},"
+                            + "\"numberOfParticipants\":1,\"specialRequests\":\"load test\"}"))
+                    .build();
+            case PAY -> {
+                Long bookingId = unpaidBookings.poll();
+                yield bookingId == null ? null : request("/api/bookings/" + bookingId + "/payment-status")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("\"PAID\""))
+                        .build();
+            }
+            // Ids from the top of the range are never assigned, so every cancel misses
+            case MISSING -> request("/api/bookings/" + (Long.MAX_VALUE - random.nextInt(1_000_000)) + "/cancel")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case BAD_LOGIN -> request("/api/auth/login")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"load-test-" + random.nextInt(1_000_000)
+                            + "\",\"password\":\"x\"}"))
+                    .build();
+        };
+    }
+    
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+    
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(config.requestTimeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+    
+    private long randomPackageId() {
+        return packageIds.get(random.nextInt(packageIds.size()));
+    }
+    
+    private void rememberBooking(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null && id.canConvertToLong()) {
+                unpaidBookings.offer(id.asLong());
+            }
+        } catch (IOException ignored) {
+            // An unparseable body still counts as a successful booking request
+        }
+    }
+    
+    private void fetchCatalogIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/api/packages"), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("GET /api/packages returned " + response.statusCode());
+        }
+        List<Long> packages = new ArrayList<>();
+        Set<Long> destinations = new LinkedHashSet<>();
+        for (JsonNode item : objectMapper.readTree(response.body())) {
+            JsonNode id = item.get("id");
+            if (id != null && id.canConvertToLong()) {
+                packages.add(id.asLong());
+            }
+            JsonNode destinationId = item.path("destination").get("id");
+            if (destinationId != null && destinationId.canConvertToLong()) {
+                destinations.add(destinationId.asLong());
+            }
+        }
+        packageIds = packages;
+        destinationIds = List.copyOf(destinations);
+    }
+    
+    private void awaitInFlight() throws InterruptedException {
+        long timeoutSeconds = config.requestTimeout().getSeconds() + 5;
+        if (inFlight.tryAcquire(config.maxInFlight(), timeoutSeconds, TimeUnit.SECONDS)) {
+            inFlight.release(config.maxInFlight());
+        }
+    }
+    
+    static final class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+    }
+}
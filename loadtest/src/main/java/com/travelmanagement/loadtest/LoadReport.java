@@ -0,0 +1,79 @@
+package com.travelmanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Plain-text report with a fixed layout so two runs can be compared with diff; the full
+// percentile distribution of each endpoint is written next to it as an .hgrm file
+final class LoadReport {
+    
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    private final LoadTestConfig config;
+    private final Map<Scenario, LoadGenerator.EndpointStats> stats;
+    private final long scheduled;
+    private final long elapsedNanos;
+    
+    LoadReport(LoadTestConfig config, Map<Scenario, LoadGenerator.EndpointStats> stats, long scheduled, long elapsedNanos) {
+        this.config = config;
+        this.stats = stats;
+        this.scheduled = scheduled;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        out.println("# TravelEase API load test");
+        out.println("# " + config.describe());
+        out.printf(Locale.ROOT, "# scheduled=%d elapsed=%.1fs%n", scheduled, seconds);
+        out.printf(Locale.ROOT, "%-42s %9s %9s %8s %8s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "ok", "ok/s", "errors", "dropped", "skipped", "p50_ms", "p90_ms", "p99_ms", "p99.9_ms", "max_ms");
+        for (Map.Entry<Scenario, LoadGenerator.EndpointStats> entry : stats.entrySet()) {
+            LoadGenerator.EndpointStats endpoint = entry.getValue();
+            Histogram latency = endpoint.latency;
+            long ok = latency.getTotalCount();
+            if (ok == 0 && endpoint.errors.sum() == 0 && endpoint.dropped.sum() == 0 && endpoint.skipped.sum() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-42s %9d %9.1f %8d %8d %8d", entry.getKey().endpoint(), ok, ok / seconds,
+                    endpoint.errors.sum(), endpoint.dropped.sum(), endpoint.skipped.sum());
+            for (double percentile : PERCENTILES) {
+                out.printf(Locale.ROOT, " %10.2f", millis(latency.getValueAtPercentile(percentile)));
+            }
+            out.printf(Locale.ROOT, " %10.2f%n", millis(latency.getMaxValue()));
+        }
+    }
+    
+    void write(Path reportFile) throws IOException {
+        Path parent = reportFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile), true, "UTF-8")) {
+            print(out);
+        }
+        String baseName = reportFile.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+        for (Map.Entry<Scenario, LoadGenerator.EndpointStats> entry : stats.entrySet()) {
+            Histogram latency = entry.getValue().latency;
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            Path distribution = reportFile.resolveSibling(baseName + "-" + entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distribution), true, "UTF-8")) {
+                // Values are recorded in microseconds; scale to milliseconds in the output
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
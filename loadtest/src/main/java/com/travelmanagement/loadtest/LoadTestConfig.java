@@ -0,0 +1,144 @@
+package com.travelmanagement.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+record LoadTestConfig(
+        URI baseUrl,
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        boolean poissonArrivals,
+        Map<Scenario, Integer> mix,
+        List<String> searchTerms,
+        long userId,
+        long maxUserId,
+        int maxInFlight,
+        Duration requestTimeout,
+        long seed,
+        Path reportFile) {
+    
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadTestRunner [options]",
+            "  --base-url URL        backend root (default http://localhost:8080)",
+            "  --rate N              arrivals per second, independent of response times (default 50)",
+            "  --warmup SECONDS      unrecorded warm-up phase (default 10)",
+            "  --duration SECONDS    recorded phase (default 60)",
+            "  --arrivals MODE       poisson | uniform (default poisson)",
+            "  --mix SPEC            scenario weights, e.g. browse=40,search=25,details=20,book=10,pay=5",
+            "                        (also destination_sparse, user_bookings_sparse, and missing and",
+            "                        bad_login, which expect a 404 and a 401)",
+            "  --search-terms LIST   comma separated search terms (default bali,paris,tokyo,beach,city)",
+            "  --user-id ID          user that places bookings (default 2)",
+            "  --max-user-id N       user_bookings_sparse reads users 1..N (default 1000)",
+            "  --max-in-flight N     cap on outstanding requests, excess arrivals count as dropped (default 2000)",
+            "  --timeout SECONDS     per request timeout (default 10)",
+            "  --seed N              seed for scenario choice and arrival jitter (default 42)",
+            "  --report FILE         report path (default load-report.txt)");
+    
+    static LoadTestConfig parse(String[] args) {
+        URI baseUrl = URI.create("http://localhost:8080");
+        double rate = 50;
+        long warmup = 10;
+        long duration = 60;
+        boolean poisson = true;
+        Map<Scenario, Integer> mix = parseMix("browse=40,search=25,details=20,book=10,pay=5");
+        List<String> searchTerms = List.of("bali", "paris", "tokyo", "beach", "city");
+        long userId = 2;
+        long maxUserId = 1000;
+        int maxInFlight = 2000;
+        long timeout = 10;
+        long seed = 42;
+        Path report = Path.of("load-report.txt");
+        
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help") || option.equals("-h")) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option + System.lineSeparator() + USAGE);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--base-url" -> baseUrl = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--warmup" -> warmup = Long.parseLong(value);
+                case "--duration" -> duration = Long.parseLong(value);
+                case "--arrivals" -> poisson = switch (value) {
+                    case "poisson" -> true;
+                    case "uniform" -> false;
+                    default -> throw new IllegalArgumentException("Unknown arrival mode: " + value);
+                };
+                case "--mix" -> mix = parseMix(value);
+                case "--search-terms" -> searchTerms = List.of(value.split(","));
+                case "--user-id" -> userId = Long.parseLong(value);
+                case "--max-user-id" -> maxUserId = Long.parseLong(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--timeout" -> timeout = Long.parseLong(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--report" -> report = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + option + System.lineSeparator() + USAGE);
+            }
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (maxUserId < 1) {
+            throw new IllegalArgumentException("--max-user-id must be positive");
+        }
+        return new LoadTestConfig(baseUrl, rate, Duration.ofSeconds(warmup), Duration.ofSeconds(duration), poisson,
+                mix, searchTerms, userId, maxUserId, maxInFlight, Duration.ofSeconds(timeout), seed, report);
+    }
+    
+    private static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Scenario.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix must contain at least one positive weight");
+        }
+        return mix;
+    }
+    
+    Scenario pickScenario(SplittableRandom random) {
+        int total = 0;
+        for (int weight : mix.values()) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+    
+    String describe() {
+        StringBuilder mixSpec = new StringBuilder();
+        mix.forEach((scenario, weight) -> {
+            if (mixSpec.length() > 0) {
+                mixSpec.append(',');
+            }
+            mixSpec.append(scenario.name().toLowerCase()).append('=').append(weight);
+        });
+        return "base-url=" + baseUrl + " rate=" + ratePerSecond + "/s warmup=" + warmup.getSeconds() + "s duration="
+                + duration.getSeconds() + "s arrivals=" + (poissonArrivals ? "poisson" : "uniform") + " mix=" + mixSpec
+                + " max-in-flight=" + maxInFlight + " seed=" + seed;
+    }
+}
@@ -0,0 +1,24 @@
+package com.travelmanagement.loadtest;
+
+public final class LoadTestRunner {
+    
+    private LoadTestRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        
+        System.out.println("Driving " + config.describe());
+        LoadReport report = new LoadGenerator(config).run();
+        report.print(System.out);
+        report.write(config.reportFile());
+        System.out.println("Report written to " + config.reportFile().toAbsolutePath());
+    }
+}
@@ -0,0 +1,35 @@
+package com.travelmanagement.loadtest;
+
+enum Scenario {
+    
+    BROWSE("GET /api/packages"),
+    SEARCH("GET /api/packages/search"),
+    DETAILS("GET /api/packages/{id}"),
+    BOOK("POST /api/bookings"),
+    PAY("PATCH /api/bookings/{id}/payment-status"),
+    DESTINATION_SPARSE("GET /api/packages/destination/{id}?fields"),
+    USER_BOOKINGS_SPARSE("GET /api/bookings/user/{id}?fields"),
+    // Failure paths: these succeed when the backend answers with the expected error status
+    MISSING("PATCH /api/bookings/{id}/cancel (missing)", 404),
+    BAD_LOGIN("POST /api/auth/login (unknown user)", 401);
+    
+    private final String endpoint;
+    private final int expectedErrorStatus;
+    
+    Scenario(String endpoint) {
+        this(endpoint, 0);
+    }
+    
+    Scenario(String endpoint, int expectedErrorStatus) {
+        this.endpoint = endpoint;
+        this.expectedErrorStatus = expectedErrorStatus;
+    }
+    
+    String endpoint() {
+        return endpoint;
+    }
+    
+    boolean succeeded(int statusCode) {
+        return expectedErrorStatus == 0 ? statusCode < 400 : statusCode == expectedErrorStatus;
+    }
+}